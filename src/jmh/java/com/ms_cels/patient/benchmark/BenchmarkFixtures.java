@@ -0,0 +1,69 @@
+package com.ms_cels.patient.benchmark;
+
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.BloodType;
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.entity.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Datos de ejemplo compartidos por los benchmarks: un paciente completo y realista, con los campos
+ * clínicos rellenos para que serialización y validación recorran todo el objeto.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static PatientDto patientDto(long i) {
+        return PatientDto.builder()
+                .firstName("María José")
+                .lastName("Pérez-Núñez")
+                .birthDate(LocalDate.of(1985, 6, 15))
+                .gender("F")
+                .bloodType("AB+")
+                .phone(String.format("+52%010d", 5_500_000_000L + i))
+                .email("maria.perez" + i + "@example.com")
+                .address("Av. Constitución 1234, Col. Centro")
+                .city("Monterrey")
+                .country("México")
+                .postalCode("64000")
+                .emergencyContactName("Juan Pérez")
+                .emergencyContactPhone("+528112345678")
+                .medicalHistory("Hipertensión controlada desde 2015. Apendicectomía en 2002.")
+                .allergies("Penicilina, mariscos")
+                .insuranceProvider("Seguros Monterrey")
+                .insuranceNumber(String.format("SM-%08d", i))
+                .build();
+    }
+
+    public static Patient patient(long i) {
+        PatientDto dto = patientDto(i);
+        Patient patient = new Patient();
+        patient.setId(UUID.randomUUID());
+        patient.setFirstName(dto.getFirstName());
+        patient.setLastName(dto.getLastName());
+        patient.setBirthDate(dto.getBirthDate());
+        patient.setGender(Gender.fromCode(dto.getGender()));
+        patient.setBloodType(BloodType.fromCode(dto.getBloodType()));
+        patient.setPhone(dto.getPhone());
+        patient.setEmail(dto.getEmail());
+        patient.setAddress(dto.getAddress());
+        patient.setCity(dto.getCity());
+        patient.setCountry(dto.getCountry());
+        patient.setPostalCode(dto.getPostalCode());
+        patient.setEmergencyContactName(dto.getEmergencyContactName());
+        patient.setEmergencyContactPhone(dto.getEmergencyContactPhone());
+        patient.setMedicalHistory(dto.getMedicalHistory());
+        patient.setAllergies(dto.getAllergies());
+        patient.setInsuranceProvider(dto.getInsuranceProvider());
+        patient.setInsuranceNumber(dto.getInsuranceNumber());
+        patient.setRegistrationDate(LocalDateTime.of(2024, 1, 10, 9, 30));
+        patient.setUpdatedAt(LocalDateTime.of(2024, 3, 2, 17, 5));
+        patient.setVersion(3L);
+        return patient;
+    }
+}
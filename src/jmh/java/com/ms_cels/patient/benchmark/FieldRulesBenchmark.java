@@ -0,0 +1,69 @@
+package com.ms_cels.patient.benchmark;
+
+import com.ms_cels.patient.validation.FieldRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Las restricciones de formato de un paciente (nombre, apellido, ciudad, país, género, sangre,
+ * teléfono, código postal) con las antiguas expresiones regulares precompiladas frente a
+ * {@link FieldRules}. Aísla el coste del formato del resto de Bean Validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldRulesBenchmark {
+
+    private static final Pattern NAME = Pattern.compile(
+            "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$");
+    private static final Pattern GENDER = Pattern.compile("^[MFONBXmfonbx]$");
+    private static final Pattern BLOOD_TYPE = Pattern.compile("^(A|B|AB|O)[+-]$");
+    private static final Pattern PHONE = Pattern.compile("^\\+?[1-9][0-9]{7,14}$");
+    private static final Pattern POSTAL_CODE = Pattern.compile("^[A-Za-z0-9\\-\\s]{3,10}$");
+
+    private final String firstName = "María José";
+    private final String lastName = "Pérez-Núñez";
+    private final String city = "San Pedro Garza García";
+    private final String country = "México";
+    private final String gender = "F";
+    private final String bloodType = "AB+";
+    private final String phone = "+528112345678";
+    private final String postalCode = "66220";
+
+    @Benchmark
+    public boolean regex() {
+        return NAME.matcher(firstName).matches()
+                & NAME.matcher(lastName).matches()
+                & NAME.matcher(city).matches()
+                & NAME.matcher(country).matches()
+                & GENDER.matcher(gender).matches()
+                & BLOOD_TYPE.matcher(bloodType).matches()
+                & PHONE.matcher(phone).matches()
+                & POSTAL_CODE.matcher(postalCode).matches();
+    }
+
+    @Benchmark
+    public boolean fieldRules() {
+        return FieldRules.isPersonName(firstName)
+                & FieldRules.isPersonName(lastName)
+                & FieldRules.isPersonName(city)
+                & FieldRules.isPersonName(country)
+                & FieldRules.isGender(gender)
+                & FieldRules.isBloodType(bloodType)
+                & FieldRules.isPhone(phone)
+                & FieldRules.isPostalCode(postalCode);
+    }
+}
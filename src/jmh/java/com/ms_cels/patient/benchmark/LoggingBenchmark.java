@@ -0,0 +1,127 @@
+package com.ms_cels.patient.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.logging.JsonLogEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coste por petición del logging de {@code addPatient} con varios hilos compitiendo: el antiguo
+ * {@code System.out.println} síncrono (DTO completo más cuatro líneas) frente al pipeline actual
+ * ({@link AsyncAppender} con cola acotada y {@link JsonLogEncoder}).
+ * <p>
+ * {@code sinkLatencyMicros} simula cuánto tarda cada escritura en stdout: 0 es /dev/null (solo
+ * bloqueo y codificación); valores mayores modelan una tubería hacia el recolector de logs que
+ * se llena, que es cuando el println síncrono frena a todos los hilos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"0", "50"})
+    private long sinkLatencyMicros;
+
+    private PrintStream stdout;
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private PatientDto dto;
+    private UUID id;
+
+    @Setup
+    public void setUp() throws IOException {
+        dto = BenchmarkFixtures.patientDto(1);
+        id = UUID.randomUUID();
+        stdout = new PrintStream(sink(), true);
+
+        loggerContext = new LoggerContext();
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(loggerContext);
+        console.setEncoder(encoder);
+        console.setOutputStream(sink());
+        console.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(console);
+        async.start();
+
+        logger = loggerContext.getLogger("com.ms_cels.patient.service_impl.PatientServiceImpl");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(async);
+        logger.setAdditive(false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+        stdout.close();
+    }
+
+    @Benchmark
+    public void systemOutPrintln() {
+        stdout.println("📌 Recibiendo DTO: " + dto);
+        stdout.println("📌 firstName: " + dto.getFirstName());
+        stdout.println("📌 lastName: " + dto.getLastName());
+        stdout.println("📌 Fecha de nacimiento en DTO: " + dto.getBirthDate());
+    }
+
+    @Benchmark
+    public void asyncStructuredLogging() {
+        logger.debug("📌 Registrando paciente");
+        logger.info("✅ Paciente registrado: {}", id);
+    }
+
+    private OutputStream sink() throws IOException {
+        File devNull = new File("/dev/null");
+        OutputStream target = devNull.exists() ? new FileOutputStream(devNull) : OutputStream.nullOutputStream();
+        if (sinkLatencyMicros == 0) {
+            return target;
+        }
+        long latencyNanos = TimeUnit.MICROSECONDS.toNanos(sinkLatencyMicros);
+        return new FilterOutputStream(target) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                LockSupport.parkNanos(latencyNanos);
+                out.write(b, off, len);
+            }
+        };
+    }
+}
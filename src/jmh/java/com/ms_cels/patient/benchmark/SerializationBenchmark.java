@@ -0,0 +1,59 @@
+package com.ms_cels.patient.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de {@link Patient} y {@link PatientDto} con un {@link ObjectMapper}
+ * configurado como el de Spring MVC (fechas ISO, módulos registrados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Patient patient;
+    private PatientDto patientDto;
+    private byte[] patientDtoJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        patient = BenchmarkFixtures.patient(1);
+        patientDto = BenchmarkFixtures.patientDto(1);
+        patientDtoJson = objectMapper.writeValueAsBytes(patientDto);
+    }
+
+    @Benchmark
+    public byte[] serializePatient() throws Exception {
+        return objectMapper.writeValueAsBytes(patient);
+    }
+
+    @Benchmark
+    public byte[] serializePatientDto() throws Exception {
+        return objectMapper.writeValueAsBytes(patientDto);
+    }
+
+    @Benchmark
+    public PatientDto deserializePatientDto() throws Exception {
+        return objectMapper.readValue(patientDtoJson, PatientDto.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.ms_cels.patient.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.PatientApplication;
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.service.PatientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CRUD de {@link PatientService} sobre H2 en memoria con el contexto completo de Spring (perfil
+ * {@code test}): transacciones, caché Caffeine, eventos y dirty checking incluidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceCrudBenchmark {
+
+    private static final int SEEDED_PATIENTS = 1_000;
+
+    private final AtomicLong sequence = new AtomicLong(1_000_000);
+
+    private ConfigurableApplicationContext context;
+    private PatientService patientService;
+    private List<UUID> ids;
+    private JsonNode[] patches;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(PatientApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0", "--spring.cloud.config.enabled=false");
+        patientService = context.getBean(PatientService.class);
+
+        ids = new ArrayList<>(SEEDED_PATIENTS);
+        for (int i = 0; i < SEEDED_PATIENTS; i++) {
+            ids.add(patientService.addPatient(BenchmarkFixtures.patientDto(i)).getId());
+        }
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        patches = new JsonNode[]{
+                objectMapper.readTree("{\"city\":\"Saltillo\"}"),
+                objectMapper.readTree("{\"city\":\"Monterrey\"}")
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Patient addPatient() {
+        return patientService.addPatient(BenchmarkFixtures.patientDto(sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public Patient getPatientCached() {
+        return patientService.getPatient(randomId());
+    }
+
+    @Benchmark
+    public PatientSummary getPatientSummary() {
+        return patientService.getPatientSummary(randomId());
+    }
+
+    @Benchmark
+    public CursorPage<PatientSummary> listFirstPage() {
+        return patientService.getAllPatients(null, 50);
+    }
+
+    @Benchmark
+    public Patient patchPatient() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return patientService.patchPatient(randomId(), patches[random.nextInt(patches.length)], null);
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.ms_cels.patient.benchmark;
+
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation de las restricciones de {@link Patient} (regex de nombre, ciudad, país, teléfono,
+ * código postal...) y de {@link PatientDto}, con datos válidos e inválidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Patient validPatient;
+    private Patient invalidPatient;
+    private PatientDto validDto;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validPatient = BenchmarkFixtures.patient(1);
+        validDto = BenchmarkFixtures.patientDto(1);
+
+        invalidPatient = BenchmarkFixtures.patient(2);
+        invalidPatient.setFirstName("M4ría");
+        invalidPatient.setPhone("0123");
+        invalidPatient.setPostalCode("!");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Patient>> validateValidPatient() {
+        return validator.validate(validPatient);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Patient>> validateInvalidPatient() {
+        return validator.validate(invalidPatient);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatientDto>> validateValidDto() {
+        return validator.validate(validDto);
+    }
+}
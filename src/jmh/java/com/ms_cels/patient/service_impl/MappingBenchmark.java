@@ -0,0 +1,56 @@
+package com.ms_cels.patient.service_impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.benchmark.BenchmarkFixtures;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversiones DTO/entidad del camino caliente: {@link PatientServiceImpl#mapDtoToEntity} (alta e
+ * importación masiva) y la aplicación de un JSON Merge Patch. Vive en el paquete del servicio
+ * porque ambos son package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PatientDto dto;
+    private JsonNode patch;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        dto = BenchmarkFixtures.patientDto(1);
+        patch = objectMapper.readTree("{\"city\":\"Saltillo\",\"phone\":\"+528449998877\",\"allergies\":null}");
+    }
+
+    @Benchmark
+    public Patient mapDtoToEntity() {
+        return PatientServiceImpl.mapDtoToEntity(dto);
+    }
+
+    @Benchmark
+    public List<String> applyMergePatch() {
+        return PatientMergePatch.apply(BenchmarkFixtures.patient(1), patch, objectMapper);
+    }
+}
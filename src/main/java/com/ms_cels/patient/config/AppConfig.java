@@ -3,8 +3,10 @@ package com.ms_cels.patient.config;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling // Relay y limpieza del outbox (OutboxRelay)
 public class AppConfig {
 
     @Bean
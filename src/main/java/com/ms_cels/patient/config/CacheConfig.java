@@ -0,0 +1,38 @@
+package com.ms_cels.patient.config;
+
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.util.PatientLoadKey;
+import com.ms_cels.patient.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Habilita la caché de lectura de pacientes. El proveedor (Caffeine), el tamaño máximo y el TTL
+ * se definen en application.yml bajo {@code spring.cache}; las estadísticas se publican en
+ * actuator como {@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, etc. Las cargas
+ * concurrentes de una misma clave se agrupan con {@link SingleFlight}, no con {@code sync=true}.
+ * Sin sync Caffeine no ejecuta las cargas y sus {@code cache.load*} quedan a cero: el tiempo de
+ * carga se mide en {@code patient.load.singleflight.duration}.
+ * <p>
+ * El interceptor de caché se ordena por fuera del transaccional: las invalidaciones se aplican
+ * después del commit y una lectura concurrente no vuelve a cachear la versión anterior.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PATIENTS_CACHE = "patients";
+
+    /**
+     * Agrupa las cargas concurrentes del mismo paciente cuando fallan en la caché. Se registra en
+     * Micrometer como {@code patient.load.singleflight.calls} / {@code .in_flight}. La clave
+     * distingue las cargas desde el primario de las que pueden ir a una réplica.
+     */
+    @Bean
+    public SingleFlight<PatientLoadKey, Patient> patientLoads(@Value("${patient.cache.single-flight.max-in-flight:1024}") int maxInFlight) {
+        return new SingleFlight<>("patient.load.singleflight", maxInFlight);
+    }
+}
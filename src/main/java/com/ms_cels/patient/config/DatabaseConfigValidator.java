@@ -2,22 +2,83 @@ package com.ms_cels.patient.config;
 
 import jakarta.annotation.PostConstruct;
 import org.hibernate.internal.util.config.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-
 @Component
 public class DatabaseConfigValidator {
 
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfigValidator.class);
+
     @Value("${spring.datasource.hikari.connection-timeout:30000}")
     private Long connectionTimeout;
 
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${patient.db.pool.min-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int poolMinSize;
+
+    @Value("${patient.db.pool.max-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int poolMaxSize;
+
+    @Value("${patient.db.pool.expected-instances:1}")
+    private int expectedInstances;
+
+    @Value("${patient.db.pool.max-threads-per-connection:20}")
+    private int maxThreadsPerConnection;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${patient.db.admission.enabled:false}")
+    private boolean admissionLimiterEnabled;
+
+    @Value("${patient.replica.enabled:false}")
+    private boolean replicasEnabled;
+
+    @Value("${patient.replica.max-lag-ms:1000}")
+    private long replicaMaxLagMs;
+
+    @Value("${patient.replica.sticky-ms:5000}")
+    private long replicaStickyMs;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseConfigValidator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
     @PostConstruct
     public void validateConfig() {
         if (connectionTimeout == null) {
             throw new ConfigurationException("No se pudo resolver el valor de connection-timeout");
         }
 
+        if (virtualThreadsEnabled && Runtime.version().feature() < 21) {
+            logger.warn("⚠️ spring.threads.virtual.enabled=true requiere Java 21+; con Java {} se seguirán usando hilos de plataforma",
+                    Runtime.version().feature());
+        }
+        if (virtualThreadsEnabled && !admissionLimiterEnabled) {
+            logger.warn("⚠️ Hilos virtuales sin patient.db.admission.enabled: todas las peticiones competirán directamente por el pool de Hikari");
+        }
+
+        if (replicasEnabled && replicaStickyMs <= replicaMaxLagMs) {
+            logger.warn("⚠️ patient.replica.sticky-ms ({} ms) no supera max-lag-ms ({} ms): un cliente puede no ver su propia escritura",
+                    replicaStickyMs, replicaMaxLagMs);
+        }
+
+        validatePoolSizing();
+
         // Puedes añadir más validaciones según sea necesario
         // Por ejemplo:
 
@@ -30,4 +91,50 @@ public class DatabaseConfigValidator {
         }
         */
     }
+
+    private void validatePoolSizing() {
+        if (poolMinSize < 1 || poolMaxSize < poolMinSize) {
+            throw new ConfigurationException("patient.db.pool.min-size (" + poolMinSize
+                    + ") debe ser mayor que cero y no superar max-size (" + poolMaxSize + ")");
+        }
+        if (maximumPoolSize < poolMinSize || maximumPoolSize > poolMaxSize) {
+            logger.warn("⚠️ maximum-pool-size ({}) está fuera de [{}, {}]: el governor lo llevará al límite más cercano",
+                    maximumPoolSize, poolMinSize, poolMaxSize);
+        }
+        // Con hilos virtuales no hay límite de hilos de Tomcat; el reparto lo hace el limitador de admisión
+        if (virtualThreadsEnabled) {
+            return;
+        }
+        if (poolMinSize > tomcatMaxThreads) {
+            logger.warn("⚠️ El pool mínimo ({} conexiones) supera server.tomcat.threads.max ({}): sobran conexiones abiertas",
+                    poolMinSize, tomcatMaxThreads);
+        }
+        if (!admissionLimiterEnabled && tomcatMaxThreads > (long) poolMaxSize * maxThreadsPerConnection) {
+            logger.warn("⚠️ {} hilos de Tomcat para como mucho {} conexiones (más de {} por conexión): en picos las peticiones "
+                            + "esperarán en Hikari hasta connection-timeout ({} ms); valora patient.db.admission.enabled",
+                    tomcatMaxThreads, poolMaxSize, maxThreadsPerConnection, connectionTimeout);
+        }
+    }
+
+    /**
+     * Compara las conexiones que pueden abrir todas las instancias con las que admite PostgreSQL.
+     * En otras bases de datos (H2 en las pruebas) la consulta falla y no se comprueba.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateServerCapacity() {
+        Integer available;
+        try {
+            available = jdbcTemplate.queryForObject("SELECT current_setting('max_connections')::int "
+                    + "- current_setting('superuser_reserved_connections')::int", Integer.class);
+        } catch (DataAccessException e) {
+            logger.debug("No se pudo leer max_connections: {}", e.getMessage());
+            return;
+        }
+        long demand = (long) expectedInstances * poolMaxSize;
+        if (available != null && demand > available) {
+            logger.warn("⚠️ {} instancia(s) × {} conexiones = {} superan las {} conexiones que admite la base de datos; "
+                            + "reduce patient.db.pool.max-size o el número de réplicas del servicio",
+                    expectedInstances, poolMaxSize, demand, available);
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.ms_cels.patient.config;
+
+import com.ms_cels.patient.datasource.AdmissionControlledDataSource;
+import com.ms_cels.patient.datasource.ReplicaRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo de hilos virtuales (opcional). Con {@code spring.threads.virtual.enabled=true} Spring Boot
+ * ejecuta Tomcat, {@code @Async} y las tareas programadas sobre hilos virtuales, siempre que la JVM
+ * sea Java 21 o superior; en Java 17 la propiedad no tiene efecto ({@link DatabaseConfigValidator} lo avisa).
+ * <p>
+ * El limitador de admisión a la base de datos ({@code patient.db.admission.enabled}, activo por
+ * defecto cuando se activan los hilos virtuales) envuelve el {@link DataSource} con un semáforo del
+ * tamaño del pool de Hikari para que los hilos aparcados no se agolpen sobre él.
+ */
+@Configuration
+public class DbAdmissionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbAdmissionConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "patient.db.admission.enabled", havingValue = "true")
+    public static BeanPostProcessor dbAdmissionLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Con réplicas se limita el pool del primario, no el router que lo envuelve
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource
+                        || bean instanceof ReplicaRoutingDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("patient.db.admission.max-concurrent", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long timeoutMs = environment.getProperty("patient.db.admission.acquire-timeout-ms", Long.class,
+                        environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+                logger.info("🚦 Limitador de admisión a BD activo sobre '{}': {} permisos, espera máxima {} ms",
+                        beanName, permits, timeoutMs);
+                return new AdmissionControlledDataSource(dataSource, permits, timeoutMs);
+            }
+        };
+    }
+}
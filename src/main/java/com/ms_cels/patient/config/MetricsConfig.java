@@ -0,0 +1,31 @@
+package com.ms_cels.patient.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas propias del servicio, además de las que Spring Boot ya publica (http.server.requests,
+ * spring.data.repository.invocations, hikaricp.*, cache.*). Histogramas y etiquetas comunes se
+ * configuran en application.yml bajo {@code management.metrics}; se exportan en
+ * {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Habilita @Timed en los services: timer patient.service con etiquetas class, method y exception
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PayloadMetricsFilter> payloadMetricsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<PayloadMetricsFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new PayloadMetricsFilter(registry));
+        registrationBean.addUrlPatterns("/v1/patients/*");
+        return registrationBean;
+    }
+}
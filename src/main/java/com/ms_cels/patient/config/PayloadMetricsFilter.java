@@ -0,0 +1,212 @@
+package com.ms_cels.patient.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Tamaño de los cuerpos de petición y respuesta por endpoint: {@code http.server.request.size} y
+ * {@code http.server.response.size} (bytes), con las mismas etiquetas de baja cardinalidad que
+ * {@code http.server.requests}: método, plantilla de URI (nunca la ruta con ids) y estado.
+ * <p>
+ * Se cuentan los bytes que realmente pasan por los streams, sin almacenar el cuerpo: también
+ * funciona con las respuestas en streaming y con peticiones chunked sin Content-Length.
+ */
+public class PayloadMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    public PayloadMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CountingRequest countingRequest = new CountingRequest(request);
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            filterChain.doFilter(countingRequest, countingResponse);
+        } finally {
+            // El patrón lo fija Spring MVC al resolver el handler; sin handler (404) no hay plantilla
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+            String method = request.getMethod();
+
+            long requestBytes = Math.max(countingRequest.bytes(), request.getContentLengthLong());
+            if (requestBytes > 0) {
+                DistributionSummary.builder("http.server.request.size")
+                        .baseUnit("bytes")
+                        .description("Tamaño del cuerpo de la petición")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(registry)
+                        .record(requestBytes);
+            }
+            DistributionSummary.builder("http.server.response.size")
+                    .baseUnit("bytes")
+                    .description("Tamaño del cuerpo de la respuesta")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .tag("status", Integer.toString(response.getStatus()))
+                    .register(registry)
+                    .record(countingResponse.bytes());
+        }
+    }
+
+    private static final class CountingRequest extends HttpServletRequestWrapper {
+
+        private long bytes;
+        private ServletInputStream stream;
+
+        CountingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                stream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) {
+                            bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = delegate.read(buffer, offset, length);
+                        if (n > 0) {
+                            bytes += n;
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        delegate.setReadListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long bytes;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] buffer, int offset, int length) throws IOException {
+                        delegate.write(buffer, offset, length);
+                        bytes += length;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        // Por el writer se cuentan caracteres: aproximación en bytes suficiente para respuestas de error
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new FilterWriter(super.getWriter()) {
+                    @Override
+                    public void write(int c) throws IOException {
+                        super.write(c);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(char[] buffer, int offset, int length) throws IOException {
+                        super.write(buffer, offset, length);
+                        bytes += length;
+                    }
+
+                    @Override
+                    public void write(String value, int offset, int length) throws IOException {
+                        super.write(value, offset, length);
+                        bytes += length;
+                    }
+                });
+            }
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ms_cels.patient.config;
+
+import com.ms_cels.patient.datasource.AdmissionControlledDataSource;
+import com.ms_cels.patient.datasource.HikariPoolGovernor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Governor del pool del primario ({@link HikariPoolGovernor}). Localiza el {@link HikariDataSource}
+ * detrás del DataSource de la aplicación (router de réplicas y limitador de admisión incluidos) y
+ * lo evalúa cada {@code patient.db.pool.interval-ms}. Solo redimensiona si
+ * {@code patient.db.pool.min-size} y {@code max-size} dejan margen; por defecto ambos valen
+ * {@code maximum-pool-size} y el pool sigue siendo fijo.
+ * <p>
+ * Si el limitador de admisión tiene tantos permisos como conexiones, su cola y su espera cuentan
+ * como espera del pool y sus permisos siguen al pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "patient.db.pool.governor.enabled", havingValue = "true", matchIfMissing = true)
+public class PoolGovernorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolGovernorConfig.class);
+
+    private static final String DEFAULT_POOL_NAME = "patient-primary";
+
+    @Bean
+    public HikariPoolGovernor hikariPoolGovernor(DataSource dataSource,
+                                                 @Value("${patient.db.pool.min-size:${spring.datasource.hikari.maximum-pool-size:10}}") int minSize,
+                                                 @Value("${patient.db.pool.max-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maxSize,
+                                                 @Value("${patient.db.pool.target-wait-ms:10}") long targetWaitMs,
+                                                 @Value("${patient.db.pool.shrink-after-intervals:6}") int shrinkAfter)
+            throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            throw new IllegalStateException("patient.db.pool.governor.enabled requiere un pool de Hikari");
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        // Las métricas se etiquetan por nombre de pool; si no se fijó, se nombra antes de arrancarlo
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(DEFAULT_POOL_NAME);
+        }
+
+        AdmissionControlledDataSource admission = dataSource.isWrapperFor(AdmissionControlledDataSource.class)
+                ? dataSource.unwrap(AdmissionControlledDataSource.class)
+                : null;
+
+        if (minSize < maxSize) {
+            logger.info("🎚️ Governor del pool '{}' activo: entre {} y {} conexiones, espera objetivo {} ms",
+                    pool.getPoolName(), minSize, maxSize, targetWaitMs);
+        }
+        return new HikariPoolGovernor(pool, admission, minSize, maxSize, targetWaitMs, shrinkAfter);
+    }
+
+    @Bean
+    public PoolGovernorSchedule poolGovernorSchedule(HikariPoolGovernor governor) {
+        return new PoolGovernorSchedule(governor);
+    }
+
+    static class PoolGovernorSchedule {
+
+        private final HikariPoolGovernor governor;
+
+        PoolGovernorSchedule(HikariPoolGovernor governor) {
+            this.governor = governor;
+        }
+
+        @Scheduled(fixedDelayString = "${patient.db.pool.interval-ms:10000}",
+                initialDelayString = "${patient.db.pool.interval-ms:10000}")
+        public void evaluate() {
+            try {
+                governor.evaluate();
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Fallo evaluando el pool de conexiones: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ms_cels.patient.config;
+
+import com.ms_cels.patient.datasource.ReplicaRoutingContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Read-your-writes con réplicas: una petición que modifica deja una cookie con el instante hasta
+ * el que ese cliente debe leer del primario ({@code sticky-ms}, más que el retraso de réplica
+ * tolerado). Mientras la cookie siga vigente, y durante toda la propia petición de escritura
+ * (p. ej. la comprobación de If-Match), las lecturas no pasan por las réplicas.
+ * <p>
+ * Se decide por ruta y no solo por verbo: los POST de consulta ({@code readOnlyPaths}, p. ej.
+ * {@code /v1/patients/lookup}) no modifican nada y siguen leyendo de las réplicas sin fijar la cookie.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "patient_primary_until";
+
+    private final long stickyMs;
+    private final Set<String> readOnlyPaths;
+
+    public ReadYourWritesFilter(long stickyMs, Set<String> readOnlyPaths) {
+        this.stickyMs = stickyMs;
+        this.readOnlyPaths = Set.copyOf(readOnlyPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean mutation = isMutation(request);
+        if (mutation || primaryUntil(request) > now) {
+            ReplicaRoutingContext.forcePrimary();
+        }
+        // Antes de la cadena: las respuestas en streaming ya están confirmadas cuando esta termina
+        if (mutation) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + stickyMs));
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge((int) Math.max(1, (stickyMs + 999) / 1000));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean isMutation(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !("POST".equals(method) && readOnlyPaths.contains(path));
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
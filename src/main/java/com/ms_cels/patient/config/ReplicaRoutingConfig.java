@@ -0,0 +1,92 @@
+package com.ms_cels.patient.config;
+
+import com.ms_cels.patient.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Réplicas de lectura ({@code patient.replica.enabled=true}). Sustituye el DataSource de Spring
+ * Boot por un {@link ReplicaRoutingDataSource}: el pool de Hikari del primario se sigue
+ * configurando con {@code spring.datasource.*} y cada URL de {@code patient.replica.urls} tiene
+ * su propio pool ({@code patient-replica-N}). Las lecturas de solo lectura (getPatient,
+ * listados, búsqueda, exportación) van a las réplicas; las escrituras, Flyway y Hibernate, al
+ * primario.
+ */
+@Configuration
+@ConditionalOnProperty(name = "patient.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    // POST que solo consultan: no cuentan como escritura para read-your-writes
+    private static final Set<String> READ_ONLY_POSTS = Set.of("/v1/patients/lookup");
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                               DataSourceProperties properties,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${patient.replica.urls}") List<String> urls,
+                                               @Value("${patient.replica.username:${spring.datasource.username:}}") String username,
+                                               @Value("${patient.replica.password:${spring.datasource.password:}}") String password,
+                                               @Value("${patient.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximumPoolSize,
+                                               @Value("${patient.replica.connection-timeout-ms:2000}") long connectionTimeoutMs,
+                                               @Value("${patient.replica.max-lag-ms:1000}") long maxLagMs,
+                                               @Value("${patient.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMs,
+                                               @Value("${patient.replica.lag-query}") String lagQuery) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "patient-replica-" + replicas.size();
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(maximumPoolSize);
+            // Corto: una réplica que no responde debe caer al primario, no retener la petición
+            pool.setConnectionTimeout(connectionTimeoutMs);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+        logger.info("📚 Lecturas de solo lectura repartidas entre {} réplica(s); retraso máximo tolerado {} ms",
+                replicas.size(), maxLagMs);
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagMs, lagCheckIntervalMs, lagQuery);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${patient.replica.sticky-ms:5000}") long stickyMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ReadYourWritesFilter(stickyMs, READ_ONLY_POSTS));
+        registrationBean.addUrlPatterns("/v1/patients", "/v1/patients/*");
+        return registrationBean;
+    }
+}
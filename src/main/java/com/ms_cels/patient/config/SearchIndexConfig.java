@@ -0,0 +1,61 @@
+package com.ms_cels.patient.config;
+
+import db.migration.postgresql.SearchIndex;
+import db.migration.postgresql.SearchIndexCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índices de la búsqueda en Postgres: registra {@link SearchIndexCallback} en Flyway (Spring Boot
+ * añade los beans {@code Callback} a su configuración) y, al arrancar, avisa si alguno sigue sin
+ * existir o quedó INVALID: sin ellos cada búsqueda recorre la tabla entera.
+ */
+@Configuration
+@ConditionalOnProperty(name = "patient.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class SearchIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexConfig.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchIndexConfig(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Bean
+    public SearchIndexCallback searchIndexCallback() {
+        return new SearchIndexCallback();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkSearchIndexes() {
+        List<String> expected = Arrays.stream(SearchIndex.values()).map(SearchIndex::indexName).toList();
+        Set<String> valid;
+        try {
+            valid = new HashSet<>(jdbcTemplate.queryForList("SELECT c.relname FROM pg_index i "
+                            + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname IN (:names) AND i.indisvalid",
+                    Map.of("names", expected), String.class));
+        } catch (DataAccessException e) {
+            logger.debug("No se pudieron comprobar los índices de búsqueda: {}", e.getMessage());
+            return;
+        }
+        List<String> missing = expected.stream().filter(name -> !valid.contains(name)).toList();
+        if (!missing.isEmpty()) {
+            logger.warn("⚠️ Faltan índices de búsqueda {}: /v1/patients/search recorrerá la tabla entera. "
+                    + "Instala pg_trgm/unaccent y vuelve a arrancar con Flyway activo", missing);
+        }
+    }
+}
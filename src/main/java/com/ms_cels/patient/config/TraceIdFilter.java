@@ -22,10 +22,12 @@ public class TraceIdFilter extends OncePerRequestFilter {
         // Establece el traceId en el MDC
         MDC.put("traceId", traceId);
 
-        // Continuar con la cadena de filtros
-        filterChain.doFilter(request, response);
-
-        // Limpiar el MDC al finalizar la solicitud
-        MDC.remove("traceId");
+        try {
+            // Continuar con la cadena de filtros
+            filterChain.doFilter(request, response);
+        } finally {
+            // Limpiar el MDC al finalizar la solicitud, incluso si hubo una excepción
+            MDC.remove("traceId");
+        }
     }
 }
\ No newline at end of file
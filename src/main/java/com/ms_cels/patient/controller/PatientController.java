@@ -1,17 +1,50 @@
 package com.ms_cels.patient.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ms_cels.patient.dto.BulkImportResult;
+import com.ms_cels.patient.dto.BulkImportSummary;
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.ExportFormat;
+import com.ms_cels.patient.dto.PatientChange;
+import com.ms_cels.patient.dto.PatientClinicalDto;
 import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientLookupRequest;
+import com.ms_cels.patient.dto.PatientLookupResult;
+import com.ms_cels.patient.dto.PatientSummary;
 import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.exception.PreconditionFailedException;
+import com.ms_cels.patient.service.PatientExportService;
+import com.ms_cels.patient.service.PatientImportService;
+import com.ms_cels.patient.service.PatientSearchService;
 import com.ms_cels.patient.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
-import org.slf4j.MDC;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +55,15 @@ import org.slf4j.LoggerFactory;
 @Tag(name = "Patient resource", description = "Patient API")
 public class PatientController {
     private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final Pattern ENTITY_TAG = Pattern.compile("(W/)?\"([^\"]*)\"");
+
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
+    private final PatientExportService patientExportService;
+    private final PatientSearchService patientSearchService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new patient")
     @PostMapping
@@ -31,64 +72,225 @@ public class PatientController {
         return ResponseEntity.status(201).body(newPatient); // Código 201 Created es más apropiado
     }
 
-    @Operation(summary = "Get all patients")
+    @Operation(summary = "Bulk import patients from NDJSON or a JSON array")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public void bulkImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean ndjson = request.getContentType() != null && request.getContentType().startsWith(NDJSON);
+
+        // La respuesta se escribe a medida que se confirman los bloques: memoria constante
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Sin FLUSH_AFTER_WRITE_VALUE: se envía al cliente una vez por bloque, no por cada resultado
+        ObjectWriter resultWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+            BulkImportSummary summary = patientImportService.importPatients(request.getInputStream(), ndjson,
+                    new PatientImportService.ResultSink() {
+                        @Override
+                        public void accept(BulkImportResult result) {
+                            try {
+                                resultWriter.writeValue(generator, result);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+
+                        @Override
+                        public void chunkCompleted() {
+                            try {
+                                generator.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    });
+            generator.writeEndArray();
+            generator.writeObjectField("summary", summary);
+            generator.writeEndObject();
+        }
+    }
+
+    @Operation(summary = "Export the whole patient registry as CSV or NDJSON, streamed (gzip if accepted)")
+    @GetMapping("/export")
+    public void exportPatients(@RequestParam(required = false) String format,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        // Las filas se escriben según llegan del cursor: la respuesta nunca se arma en memoria
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"patients-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        try (OutputStream output = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                : response.getOutputStream()) {
+            long rows = patientExportService.exportPatients(exportFormat, output);
+            logger.info("📤 Exportación del padrón: {} pacientes en {}{}", rows, exportFormat.getExtension(), gzip ? " (gzip)" : "");
+        }
+    }
+
+    // Accept-Encoding con gzip, salvo que el cliente lo rechace explícitamente con q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    @Operation(summary = "Get active patients, paginated by cursor")
     @GetMapping
-    public ResponseEntity<List<PatientDto>> getAllPatients() {
-        List<PatientDto> patients = patientService.getAllPatients().stream()
-                .map(this::convertToDto)
-                .toList();
-
-        // 🔍 Depuración: Verifica que los valores estén en el DTO antes de devolverlos
-        // patients.forEach(p -> System.out.println("📌 DTO Response: " + p));
-        logger.info("📌 Generando consulta de todos los pacientes");
-        return ResponseEntity.ok(patients);
-    }
-
-    @Operation(summary = "Convert Patient entity to DTO")
-    private PatientDto convertToDto(Patient patient) {
-        return PatientDto.builder()
-                .id(patient.getId())
-                .firstName(patient.getFirstName())
-                .lastName(patient.getLastName())
-                .email(patient.getEmail())
-                .phone(patient.getPhone())
-                .birthDate(patient.getBirthDate())
-                .gender(patient.getGender())
-                .bloodType(patient.getBloodType())
-                .address(patient.getAddress())
-                .city(patient.getCity())
-                .country(patient.getCountry())
-                .postalCode(patient.getPostalCode())
-                .emergencyContactName(patient.getEmergencyContactName())
-                .emergencyContactPhone(patient.getEmergencyContactPhone())
-                .emergencyContactName2(patient.getEmergencyContactName2())
-                .emergencyContactPhone2(patient.getEmergencyContactPhone2())
-                .emergencyContactName3(patient.getEmergencyContactName3())
-                .emergencyContactPhone3(patient.getEmergencyContactPhone3())
-                .medicalHistory(patient.getMedicalHistory())
-                .allergies(patient.getAllergies())
-                .insuranceProvider(patient.getInsuranceProvider())
-                .insuranceNumber(patient.getInsuranceNumber())
-                .registrationDate(patient.getRegistrationDate())
-                .updatedAt(patient.getUpdatedAt())
-                .active(patient.getActive() != null ? patient.getActive() : true)
-                .status(patient.getStatus() != null ? patient.getStatus() : true)
-                .build();
+    public ResponseEntity<CursorPage<PatientSummary>> getAllPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        // Proyección de resumen: sin entidades gestionadas ni columnas clínicas
+        CursorPage<PatientSummary> page = patientService.getAllPatients(cursor, size);
+
+        logger.info("📌 Generando consulta paginada de pacientes ({} registros)", page.getSize());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Get several patients by ID in one request (found and missing ids)")
+    @GetMapping(params = "ids")
+    public ResponseEntity<PatientLookupResult> getPatientsByIds(@RequestParam List<String> ids) {
+        return ResponseEntity.ok(patientService.getPatients(toUuids(ids)));
+    }
+
+    @Operation(summary = "Get several patients by ID, with the id list in the request body")
+    @PostMapping("/lookup")
+    public ResponseEntity<PatientLookupResult> lookupPatients(@RequestBody PatientLookupRequest request) {
+        return ResponseEntity.ok(patientService.getPatients(toUuids(request.getIds())));
+    }
+
+    // 🔄 Convertir String a UUID; un id mal formado termina en 400 como en el resto de endpoints
+    private static List<UUID> toUuids(List<String> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(String::trim).map(UUID::fromString).toList();
+    }
+
+    @Operation(summary = "Search active patients by name prefix (accent-insensitive), city and country")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<PatientSummary>> searchPatients(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(patientSearchService.search(q, city, country, cursor, size));
+    }
+
+    @Operation(summary = "Get active patients born in a date range or aged within a range, optionally in a city")
+    @GetMapping("/birth-range")
+    public ResponseEntity<CursorPage<PatientSummary>> getPatientsByBirthRange(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(patientService.getPatientsByBirthRange(bornFrom, bornTo, minAge, maxAge, city, cursor, size));
+    }
+
+    @Operation(summary = "Get patients changed since a watermark (or ISO date-time), deactivations as tombstones")
+    @GetMapping("/changes")
+    public ResponseEntity<CursorPage<PatientChange>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(patientService.getChanges(since, size));
     }
 
     @Operation(summary = "Get a patient by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<Patient> getPatientById(@PathVariable String id) {  // 🟢 Recibe String
+    public ResponseEntity<Patient> getPatientById(@PathVariable String id, WebRequest request) {  // 🟢 Recibe String
+        UUID uuid = UUID.fromString(id); // 🔄 Convertir String a UUID
+        logger.debug("🔍 Buscando paciente con ID: {}", uuid);
+        Patient patient = patientService.getPatient(uuid);
+        String eTag = eTagOf(patient);
+
+        // If-None-Match coincide: 304 sin serializar la entidad
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(patient);
+    }
+
+    @Operation(summary = "Get a lightweight read-only summary of a patient")
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<PatientSummary> getPatientSummary(@PathVariable String id) {
         UUID uuid = UUID.fromString(id); // 🔄 Convertir String a UUID
-        logger.info("🔍 [TraceID: {}] Buscando paciente con ID: {}", MDC.get("traceId"), uuid);
-        return ResponseEntity.ok(patientService.getPatient(uuid));
+        return ResponseEntity.ok(patientService.getPatientSummary(uuid));
+    }
+
+    @Operation(summary = "Get the clinical data (medical history, allergies) of a patient")
+    @GetMapping("/{id}/clinical")
+    public ResponseEntity<PatientClinicalDto> getClinicalData(@PathVariable String id) {
+        UUID uuid = UUID.fromString(id); // 🔄 Convertir String a UUID
+        return ResponseEntity.ok(patientService.getClinicalData(uuid));
     }
 
     @Operation(summary = "Update a patient by ID")
     @PutMapping("/{id}")
-    public ResponseEntity<Patient> updatePatient(@PathVariable String id, @RequestBody PatientDto patientDto) {
+    public ResponseEntity<Patient> updatePatient(@PathVariable String id, @RequestBody PatientDto patientDto, WebRequest request) {
+        UUID uuid = UUID.fromString(id); // 🔄 Convertir String a UUID
+        Patient updated = patientService.updatePatient(uuid, patientDto, resolveIfMatch(request));
+        return ResponseEntity.ok().eTag(eTagOf(updated)).body(updated);
+    }
+
+    @Operation(summary = "Partially update a patient (JSON Merge Patch)")
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Patient> patchPatient(@PathVariable String id, @RequestBody JsonNode patch, WebRequest request) {
         UUID uuid = UUID.fromString(id); // 🔄 Convertir String a UUID
-        return ResponseEntity.ok(patientService.updatePatient(uuid, patientDto));
+        Patient patched = patientService.patchPatient(uuid, patch, resolveIfMatch(request));
+        return ResponseEntity.ok().eTag(eTagOf(patched)).body(patched);
+    }
+
+    // ETag fuerte derivado de la columna @Version
+    private static String eTagOf(Patient patient) {
+        return "\"" + (patient.getVersion() != null ? patient.getVersion() : 0L) + "\"";
+    }
+
+    /*
+     * If-Match: la versión del ETag se pasa tal cual al service, que la compara con la fila que
+     * modifica dentro de su transacción; no se consulta la caché, que puede ir por detrás de una
+     * escritura hecha en otra instancia. "*" solo exige que el paciente exista. If-Match usa
+     * comparación fuerte: un ETag débil o que no es una versión nunca coincide.
+     */
+    private static Long resolveIfMatch(WebRequest request) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_MATCH);
+        if (headers == null || headers.length == 0) {
+            return null;
+        }
+        String header = String.join(",", headers).trim();
+        if (header.equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        Matcher matcher = ENTITY_TAG.matcher(header);
+        while (matcher.find()) {
+            if (matcher.group(1) == null && matcher.group(2).matches("\\d{1,18}")) {
+                versions.add(Long.parseLong(matcher.group(2)));
+            }
+        }
+        if (versions.size() != 1) {
+            throw new PreconditionFailedException(versions.isEmpty()
+                    ? "El ETag enviado en If-Match no coincide con la versión actual del paciente."
+                    : "If-Match admite un único ETag de versión.");
+        }
+        return versions.iterator().next();
     }
 
     @Operation(summary = "Delete a patient by ID")
@@ -98,4 +300,12 @@ public class PatientController {
         patientService.deletePatient(uuid);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Reactivate a soft-deleted patient by ID")
+    @PostMapping("/{id}/reactivate")
+    public ResponseEntity<Void> reactivatePatient(@PathVariable String id) {
+        UUID uuid = UUID.fromString(id); // 🔄 Convertir String a UUID
+        patientService.reactivatePatient(uuid);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
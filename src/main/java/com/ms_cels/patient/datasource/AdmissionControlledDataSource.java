@@ -0,0 +1,163 @@
+package com.ms_cels.patient.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita cuántos hilos pueden tener una conexión a la vez mediante un {@link Semaphore} justo
+ * del tamaño del pool de Hikari. Con hilos virtuales miles de peticiones pueden llegar a la vez:
+ * en lugar de competir todas dentro de Hikari, esperan aquí en orden FIFO (sin fijar el hilo
+ * portador) y, si no obtienen permiso dentro de {@code acquireTimeoutMs}, fallan rápido.
+ * El permiso se libera al cerrar la conexión.
+ * <p>
+ * {@link #setMaxPermits(int)} ajusta el límite en caliente cuando {@code HikariPoolGovernor}
+ * redimensiona el pool; al reducirlo, las conexiones ya concedidas terminan con normalidad.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final ResizableSemaphore permits;
+    private int maxPermits;
+    private final long acquireTimeoutMs;
+    private final LongAdder acquireAttempts = new LongAdder();
+    private final LongAdder acquireWaitNanos = new LongAdder();
+
+    public AdmissionControlledDataSource(DataSource target, int maxPermits, long acquireTimeoutMs) {
+        super(target);
+        if (maxPermits < 1) {
+            throw new IllegalArgumentException("El límite de admisión debe ser mayor que cero");
+        }
+        this.permits = new ResizableSemaphore(maxPermits);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guarded(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guarded(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public synchronized int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public synchronized void setMaxPermits(int newMaxPermits) {
+        if (newMaxPermits < 1) {
+            throw new IllegalArgumentException("El límite de admisión debe ser mayor que cero");
+        }
+        int delta = newMaxPermits - maxPermits;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            // Puede dejar permisos negativos: los siguientes cierres los absorben antes de admitir a nadie
+            permits.reducePermits(-delta);
+        }
+        maxPermits = newMaxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    // Acumulados (concedidos y rechazados) para calcular la espera media por intervalo
+    public long getAcquireAttempts() {
+        return acquireAttempts.sum();
+    }
+
+    public long getAcquireWaitNanos() {
+        return acquireWaitNanos.sum();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean admitted = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            acquireAttempts.increment();
+            acquireWaitNanos.add(System.nanoTime() - start);
+            if (!admitted) {
+                throw new DbAdmissionRejectedException("No se obtuvo turno para la base de datos en "
+                        + acquireTimeoutMs + " ms (" + permits.getQueueLength() + " en espera)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DbAdmissionRejectedException("Interrumpido esperando turno para la base de datos");
+        }
+    }
+
+    // close() devuelve el permiso una sola vez, aunque el llamador cierre la conexión varias veces
+    private Connection guarded(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(method.getName()) && Connection.class.equals(args[0])) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    /**
+     * Rechazo por saturación; {@code GlobalExceptionHandler} lo traduce a 503.
+     */
+    public static class DbAdmissionRejectedException extends SQLTransientConnectionException {
+        public DbAdmissionRejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.ms_cels.patient.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ajusta en caliente el tamaño máximo de un pool de Hikari según la espera observada al pedir
+ * conexión. En cada evaluación calcula la espera media del intervalo a partir del timer
+ * {@code hikaricp.connections.acquire} del pool y lee los hilos en espera:
+ * <ul>
+ *     <li>si la espera media supera {@code targetWaitMs} o hay hilos esperando, crece un 25 %
+ *     (al menos una conexión) hasta {@code maxSize};</li>
+ *     <li>si durante {@code shrinkAfter} evaluaciones seguidas no hay espera y se usa como mucho la
+ *     mitad del pool, reduce una conexión hasta {@code minSize}.</li>
+ * </ul>
+ * Crece rápido y encoge despacio para no oscilar. Al reducir, Hikari no cierra las conexiones en
+ * uso: las sobrantes se retiran al quedar ociosas ({@code idle-timeout}) o al cumplir
+ * {@code max-lifetime}. Con {@code minSize == maxSize} solo observa y publica las métricas.
+ * <p>
+ * Con el limitador de admisión delante del pool y tantos permisos como conexiones, las peticiones
+ * esperan en su semáforo y nunca en Hikari: su cola y su espera media se suman a las de Hikari y
+ * sus permisos se redimensionan junto con el pool. Si el limitador tiene menos permisos que el
+ * pool, ampliar el pool no reduce su cola y no se tiene en cuenta.
+ * <p>
+ * Métricas: {@code patient.db.pool.acquire.wait} (espera media del último intervalo, ms) y
+ * {@code patient.db.pool.resizes} con {@code direction=up|down}, ambas con la etiqueta {@code pool}.
+ */
+public class HikariPoolGovernor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(HikariPoolGovernor.class);
+
+    private final HikariDataSource pool;
+    private final AdmissionControlledDataSource admission;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetWaitMs;
+    private final int shrinkAfter;
+
+    private final LongAdder grown = new LongAdder();
+    private final LongAdder shrunk = new LongAdder();
+
+    private volatile MeterRegistry registry;
+    private volatile double lastMeanWaitMs;
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+    private long lastAdmissionAttempts;
+    private long lastAdmissionWaitNanos;
+    private int calmIntervals;
+    private int configuredMinimumIdle = -1;
+
+    /**
+     * @param admission limitador de admisión que envuelve el pool, o null si no está activo
+     */
+    public HikariPoolGovernor(HikariDataSource pool, AdmissionControlledDataSource admission,
+                              int minSize, int maxSize, long targetWaitMs, int shrinkAfter) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Límites del pool no válidos: min=" + minSize + ", max=" + maxSize);
+        }
+        if (shrinkAfter < 1) {
+            throw new IllegalArgumentException("shrinkAfter debe ser mayor que cero");
+        }
+        this.pool = pool;
+        this.admission = admission;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitMs = targetWaitMs;
+        this.shrinkAfter = shrinkAfter;
+    }
+
+    /**
+     * Una evaluación: mide el intervalo transcurrido desde la anterior y, si procede, redimensiona.
+     * Devuelve el tamaño máximo resultante.
+     */
+    public synchronized int evaluate() {
+        int current = pool.getHikariConfigMXBean().getMaximumPoolSize();
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if (poolBean == null) {
+            // El pool aún no se ha inicializado (primera conexión pendiente)
+            return current;
+        }
+        // La espera en el semáforo precede a la de Hikari: la espera total de una petición es la suma
+        boolean gated = admissionFollowsPool(current);
+        double meanWaitMs = meanWaitSinceLastEvaluation() + meanAdmissionWaitSinceLastEvaluation(gated);
+        int pending = poolBean.getThreadsAwaitingConnection() + (gated ? admission.getQueueLength() : 0);
+        lastMeanWaitMs = meanWaitMs;
+        int target = decide(meanWaitMs, pending, poolBean.getActiveConnections(), current);
+        if (target != current) {
+            resize(current, target, meanWaitMs, pending, gated);
+        }
+        return target;
+    }
+
+    int decide(double meanWaitMs, int pending, int active, int current) {
+        if (current < minSize || current > maxSize) {
+            calmIntervals = 0;
+            return Math.max(minSize, Math.min(maxSize, current));
+        }
+        if (meanWaitMs > targetWaitMs || pending > 0) {
+            calmIntervals = 0;
+            return Math.min(maxSize, current + Math.max(1, current / 4));
+        }
+        boolean calm = meanWaitMs <= targetWaitMs / 2.0 && active * 2 <= current;
+        if (!calm) {
+            calmIntervals = 0;
+            return current;
+        }
+        if (++calmIntervals < shrinkAfter || current <= minSize) {
+            return current;
+        }
+        calmIntervals = 0;
+        return current - 1;
+    }
+
+    public double getLastMeanWaitMs() {
+        return lastMeanWaitMs;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private boolean admissionFollowsPool(int poolSize) {
+        return admission != null && admission.getMaxPermits() == poolSize;
+    }
+
+    private void resize(int current, int target, double meanWaitMs, int pending, boolean gated) {
+        if (configuredMinimumIdle < 0) {
+            // Hikari solo resuelve minimum-idle (por defecto igual al máximo) al arrancar el pool
+            configuredMinimumIdle = pool.getHikariConfigMXBean().getMinimumIdle();
+        }
+        // Primero el mínimo de ociosas al reducir y después al crecer, para no dejarlo nunca por encima del máximo
+        int minimumIdle = Math.min(configuredMinimumIdle, target);
+        if (target < current) {
+            pool.getHikariConfigMXBean().setMinimumIdle(minimumIdle);
+            pool.getHikariConfigMXBean().setMaximumPoolSize(target);
+            shrunk.increment();
+        } else {
+            pool.getHikariConfigMXBean().setMaximumPoolSize(target);
+            pool.getHikariConfigMXBean().setMinimumIdle(minimumIdle);
+            grown.increment();
+        }
+        if (gated) {
+            admission.setMaxPermits(target);
+        }
+        logger.info("🎚️ Pool '{}' redimensionado de {} a {} conexiones (espera media {} ms, {} hilos esperando)",
+                pool.getPoolName(), current, target, String.format("%.1f", meanWaitMs), pending);
+    }
+
+    // Espera media entre dos evaluaciones a partir del timer acumulado que registra Hikari
+    private double meanWaitSinceLastEvaluation() {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return 0;
+        }
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer();
+        if (acquire == null) {
+            return 0;
+        }
+        long count = acquire.count();
+        double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+        long deltaCount = count - lastAcquireCount;
+        double deltaMs = totalMs - lastAcquireTotalMs;
+        lastAcquireCount = count;
+        lastAcquireTotalMs = totalMs;
+        return deltaCount > 0 ? Math.max(0, deltaMs / deltaCount) : 0;
+    }
+
+    private double meanAdmissionWaitSinceLastEvaluation(boolean gated) {
+        if (admission == null) {
+            return 0;
+        }
+        long attempts = admission.getAcquireAttempts();
+        long waitNanos = admission.getAcquireWaitNanos();
+        long deltaAttempts = attempts - lastAdmissionAttempts;
+        long deltaNanos = waitNanos - lastAdmissionWaitNanos;
+        lastAdmissionAttempts = attempts;
+        lastAdmissionWaitNanos = waitNanos;
+        return gated && deltaAttempts > 0 ? deltaNanos / 1_000_000.0 / deltaAttempts : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        String poolName = pool.getPoolName();
+        Gauge.builder("patient.db.pool.acquire.wait", this, HikariPoolGovernor::getLastMeanWaitMs)
+                .tag("pool", poolName)
+                .baseUnit("milliseconds")
+                .description("Espera media para obtener conexión en el último intervalo del governor")
+                .register(registry);
+        FunctionCounter.builder("patient.db.pool.resizes", grown, LongAdder::sum)
+                .tag("pool", poolName)
+                .tag("direction", "up")
+                .description("Veces que el governor amplió el pool")
+                .register(registry);
+        FunctionCounter.builder("patient.db.pool.resizes", shrunk, LongAdder::sum)
+                .tag("pool", poolName)
+                .tag("direction", "down")
+                .description("Veces que el governor redujo el pool")
+                .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ms_cels.patient.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ms_cels.patient.event.PatientChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Pacientes modificados en esta instancia durante los últimos {@code patient.replica.sticky-ms}.
+ * Tras un cambio se invalida la caché; si la siguiente carga leyera de una réplica retrasada,
+ * volvería a cachear la versión anterior. El service consulta esta lista para hacer esas cargas
+ * contra el primario. Sin réplicas configuradas no registra nada.
+ */
+@Component
+public class RecentWrites {
+
+    private final Cache<UUID, Boolean> patients;
+
+    public RecentWrites(@Value("${patient.replica.enabled:false}") boolean replicasEnabled,
+                        @Value("${patient.replica.sticky-ms:5000}") long stickyMs) {
+        this.patients = replicasEnabled
+                ? Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(stickyMs)).maximumSize(100_000).build()
+                : null;
+    }
+
+    // Síncrono, dentro de la transacción que modifica: la marca existe antes del commit
+    @EventListener
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (patients != null) {
+            patients.put(event.patientId(), Boolean.TRUE);
+        }
+    }
+
+    public boolean contains(UUID id) {
+        return patients != null && patients.getIfPresent(id) != null;
+    }
+}
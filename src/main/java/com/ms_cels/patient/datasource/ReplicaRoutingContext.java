@@ -0,0 +1,41 @@
+package com.ms_cels.patient.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca por hilo que obliga a {@link ReplicaRoutingDataSource} a servir también las lecturas
+ * desde el primario (read-your-writes). La fijan {@code ReadYourWritesFilter} para toda la
+ * petición y el service para cargas puntuales de pacientes recién modificados.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    // Ejecuta la carga contra el primario y restaura el estado anterior, aunque ya estuviera forzado
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPrimaryForced()) {
+            return action.get();
+        }
+        forcePrimary();
+        try {
+            return action.get();
+        } finally {
+            clear();
+        }
+    }
+}
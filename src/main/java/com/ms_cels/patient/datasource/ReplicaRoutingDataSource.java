@@ -0,0 +1,237 @@
+package com.ms_cels.patient.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas y todo lo demás al primario.
+ * <p>
+ * Se apoya en {@link LazyConnectionDataSourceProxy}: la conexión física se pide en la primera
+ * sentencia, cuando el gestor de transacciones ya marcó la conexión como read-only, y en ese
+ * caso se obtiene del router de réplicas en lugar del primario.
+ * <p>
+ * Una réplica solo recibe lecturas si su último retraso medido no supera {@code maxLagMs}; si
+ * todas van retrasadas, están caídas o el hilo pidió read-your-writes
+ * ({@link ReplicaRoutingContext}), la lectura va al primario. El retraso se mide cada
+ * {@code lagCheckIntervalMs} con {@code lagQuery}, que devuelve milisegundos.
+ * <p>
+ * Métricas: {@code patient.db.read.route{target, reason}} y {@code patient.db.replica.lag{replica}}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements SmartLifecycle, MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final long lagCheckIntervalMs;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Counter> routes = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+    private volatile ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    long maxLagMs, long lagCheckIntervalMs, String lagQuery) {
+        super(primary);
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Debe configurarse al menos una réplica");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+        this.lagQuery = lagQuery;
+        setReadOnlyDataSource(new ReadOnlyRouter());
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Mide el retraso de cada réplica. Una réplica que no responde queda fuera hasta la siguiente
+     * medición correcta; sin medición (al arrancar) tampoco recibe lecturas.
+     */
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    long lag = rs.next() ? Math.max(0, rs.getLong(1)) : Long.MAX_VALUE;
+                    if (!replica.available) {
+                        logger.info("✅ Réplica '{}' disponible (retraso {} ms)", replica.name, lag);
+                    }
+                    replica.lagMs = lag;
+                    replica.available = true;
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markUnavailable(e);
+            }
+        }
+    }
+
+    private Connection routeReadOnly() throws SQLException {
+        if (ReplicaRoutingContext.isPrimaryForced()) {
+            return onPrimary("read_your_writes");
+        }
+        String reason = "unavailable";
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.available) {
+                continue;
+            }
+            if (replica.lagMs > maxLagMs) {
+                reason = "lagging";
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                count("replica", "healthy");
+                return connection;
+            } catch (SQLException e) {
+                replica.markUnavailable(e);
+            }
+        }
+        return onPrimary(reason);
+    }
+
+    private Connection onPrimary(String reason) throws SQLException {
+        count("primary", reason);
+        return primary.getConnection();
+    }
+
+    private void count(String target, String reason) {
+        MeterRegistry current = registry;
+        if (current == null) {
+            return;
+        }
+        routes.computeIfAbsent(target + '|' + reason, key -> Counter.builder("patient.db.read.route")
+                .description("Conexiones de solo lectura por destino y motivo")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(current)).increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        for (Replica replica : replicas) {
+            Gauge.builder("patient.db.replica.lag", replica, r -> r.available ? r.lagMs : Double.NaN)
+                    .description("Último retraso de replicación medido")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::refreshLag, 0, lagCheckIntervalMs, TimeUnit.MILLISECONDS);
+        lagChecker = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = lagChecker;
+        if (executor != null) {
+            executor.shutdownNow();
+            lagChecker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return lagChecker != null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        stop();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Réplica con su último estado medido. {@code lagMs} y {@code available} solo los escribe la
+     * medición periódica (o un fallo al conectar); las lecturas los consultan sin bloqueo.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMs = Long.MAX_VALUE;
+        private volatile boolean available;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getLagMs() {
+            return lagMs;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        private void markUnavailable(Exception e) {
+            if (available) {
+                logger.warn("⚠️ Réplica '{}' no disponible, las lecturas irán al primario: {}", name, e.getMessage());
+            }
+            available = false;
+        }
+    }
+
+    // Destino de las conexiones read-only del proxy
+    private final class ReadOnlyRouter extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return routeReadOnly();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return routeReadOnly();
+        }
+    }
+}
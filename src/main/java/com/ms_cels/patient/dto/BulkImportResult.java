@@ -0,0 +1,30 @@
+package com.ms_cels.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resultado de un registro de la importación masiva. {@code index} es la posición (base 0)
+ * del registro dentro del archivo recibido.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportResult {
+
+    public enum Status { CREATED, INVALID, FAILED }
+
+    private long index;
+    private Status status;
+    private UUID id;
+    private List<Map<String, String>> errors;
+}
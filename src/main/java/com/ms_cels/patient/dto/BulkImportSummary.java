@@ -0,0 +1,16 @@
+package com.ms_cels.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportSummary {
+
+    private long received;
+    private long created;
+    private long invalid;
+    private long failed;
+}
@@ -0,0 +1,47 @@
+package com.ms_cels.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ms_cels.patient.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página tipo "Slice" basada en cursor (keyset). No calcula el total de registros:
+ * solo indica si hay más resultados y el token opaco para pedir la siguiente página.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Acota el tamaño de página solicitado para que la memoria por petición sea constante.
+     * Sin tamaño se usa {@code defaultSize}; nunca se supera {@code maxSize}.
+     */
+    public static int resolvePageSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        if (requested < 1) {
+            throw new BadRequestException("El tamaño de página debe ser mayor que cero.");
+        }
+        return Math.min(requested, maxSize);
+    }
+}
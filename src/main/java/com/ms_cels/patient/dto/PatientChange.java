@@ -0,0 +1,23 @@
+package com.ms_cels.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entrada del feed de cambios. Un paciente dado de baja se entrega como tombstone: solo el id,
+ * la posición del cambio y {@code deleted = true}, sin datos personales.
+ * <p>
+ * {@code changeSeq} crece con cada cambio de la fila: un consumidor puede descartar una entrada
+ * cuyo changeSeq no supere el que ya aplicó para ese paciente.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientChange(UUID id, long changeSeq, LocalDateTime updatedAt, boolean deleted, PatientSummary patient) {
+
+    public static PatientChange of(PatientChangeView view) {
+        boolean deleted = !Boolean.TRUE.equals(view.getActive());
+        return new PatientChange(view.getId(), view.getChangeSeq(), view.getUpdatedAt(), deleted,
+                deleted ? null : view);
+    }
+}
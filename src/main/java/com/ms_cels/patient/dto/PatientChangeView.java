@@ -0,0 +1,13 @@
+package com.ms_cels.patient.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del feed de cambios: el resumen del paciente más la posición del cambio.
+ */
+public interface PatientChangeView extends PatientSummary {
+
+    LocalDateTime getUpdatedAt();
+
+    Long getChangeSeq();
+}
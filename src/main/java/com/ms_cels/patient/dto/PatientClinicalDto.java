@@ -0,0 +1,23 @@
+package com.ms_cels.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Datos clínicos de un paciente, servidos por su propio endpoint para que las lecturas
+ * frecuentes no transfieran la historia médica.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PatientClinicalDto {
+
+    private UUID id;
+    private String medicalHistory;
+    private String allergies;
+}
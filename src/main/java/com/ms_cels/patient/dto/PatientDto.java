@@ -3,6 +3,7 @@ package com.ms_cels.patient.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ms_cels.patient.validation.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -23,13 +24,11 @@ public class PatientDto {
     private UUID id;
 
     @NotBlank(message = "El nombre no puede estar vacío")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$",
-            message = "El nombre debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
+    @ValidPersonName(message = "El nombre debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
     private String firstName;
 
     @NotBlank(message = "El apellido no puede estar vacío")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$",
-            message = "El apellido debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
+    @ValidPersonName(message = "El apellido debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
     private String lastName;
 
     @NotNull(message = "La fecha de nacimiento es obligatoria")
@@ -38,14 +37,14 @@ public class PatientDto {
     private LocalDate birthDate;
 
     @NotNull(message = "El género es obligatorio")
-    @Pattern(regexp = "^[MFONBXmfonbx]$", message = "El género debe ser M, F, O, NB o X")
+    @ValidGender
     private String gender;
 
-    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Tipo de sangre inválido (debe ser A+, A-, B+, B-, AB+, AB-, O+, O-)")
+    @ValidBloodType
     private String bloodType;
 
     @NotBlank(message = "El teléfono no puede estar vacío")
-    @Pattern(regexp = "^\\+?[1-9][0-9]{7,14}$", message = "Formato de teléfono inválido")
+    @ValidPhone
     private String phone;
 
     @NotBlank(message = "El email no puede estar vacío")
@@ -56,18 +55,16 @@ public class PatientDto {
     private String address;
 
     @NotBlank(message = "La ciudad no puede estar vacía")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$",
-            message = "La ciudad debe contener caracteres alfabéticos")
+    @ValidPersonName(message = "La ciudad debe contener caracteres alfabéticos")
     private String city;
 
 
     @NotBlank(message = "El país no puede estar vacío")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$",
-            message = "El país debe contener de 2 a 50 caracteres alfabéticos, puntos, comas, guiones o apóstrofes")
+    @ValidPersonName(message = "El país debe contener de 2 a 50 caracteres alfabéticos, puntos, comas, guiones o apóstrofes")
     private String country;
 
     @NotBlank(message = "El código postal es obligatorio")
-    @Pattern(regexp = "^[A-Za-z0-9\\-\\s]{3,10}$", message = "Código postal inválido. Debe contener entre 3 y 10 caracteres alfanuméricos")
+    @ValidPostalCode
     private String postalCode;
 
     private String emergencyContactName;
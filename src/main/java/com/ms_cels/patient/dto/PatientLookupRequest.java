@@ -0,0 +1,18 @@
+package com.ms_cels.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cuerpo de POST /v1/patients/lookup: alternativa a GET ?ids= cuando la lista no cabe en la URL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientLookupRequest {
+
+    private List<String> ids;
+}
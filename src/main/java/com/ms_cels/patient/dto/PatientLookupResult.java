@@ -0,0 +1,21 @@
+package com.ms_cels.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de una consulta por lotes: resumen de los pacientes encontrados (en el orden
+ * solicitado, sin duplicados, sin datos clínicos) y los ids que no existen, en una sola respuesta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientLookupResult {
+
+    private List<PatientSummary> found;
+    private List<UUID> missing;
+}
@@ -0,0 +1,23 @@
+package com.ms_cels.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Criterios de búsqueda ya normalizados (minúsculas, sin acentos). Cada término de
+ * {@code nameTerms} debe coincidir con el inicio de alguna palabra del nombre completo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSearchCriteria {
+
+    private List<String> nameTerms;
+    private String city;
+    private String country;
+}
@@ -0,0 +1,47 @@
+package com.ms_cels.patient.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ms_cels.patient.entity.Gender;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura para listados: selecciona únicamente las columnas que necesitan
+ * las vistas de lista y las consultas de otros servicios (sin datos clínicos ni contactos).
+ */
+public interface PatientSummary {
+
+    UUID getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhone();
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    LocalDate getBirthDate();
+
+    Gender getGender();
+
+    String getCity();
+
+    String getCountry();
+
+    Boolean getActive();
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime getRegistrationDate();
+
+    @JsonProperty("age")
+    default int getAge() {
+        LocalDate birthDate = getBirthDate();
+        return birthDate == null ? 0 : Period.between(birthDate, LocalDate.now()).getYears();
+    }
+}
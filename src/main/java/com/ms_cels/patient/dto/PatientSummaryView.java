@@ -0,0 +1,67 @@
+package com.ms_cels.patient.dto;
+
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.entity.Patient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Implementación concreta de {@link PatientSummary} para resultados que no provienen de una
+ * proyección de Spring Data (consultas nativas con JDBC, índices en memoria, entidades en caché).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSummaryView implements PatientSummary {
+
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private LocalDate birthDate;
+    private Gender gender;
+    private String city;
+    private String country;
+    private Boolean active;
+    private LocalDateTime registrationDate;
+
+    public static PatientSummaryView of(Patient patient) {
+        return PatientSummaryView.builder()
+                .id(patient.getId())
+                .firstName(patient.getFirstName())
+                .lastName(patient.getLastName())
+                .email(patient.getEmail())
+                .phone(patient.getPhone())
+                .birthDate(patient.getBirthDate())
+                .gender(patient.getGender())
+                .city(patient.getCity())
+                .country(patient.getCountry())
+                .active(patient.isActive())
+                .registrationDate(patient.getRegistrationDate())
+                .build();
+    }
+
+    public static PatientSummaryView of(PatientSummary summary) {
+        return PatientSummaryView.builder()
+                .id(summary.getId())
+                .firstName(summary.getFirstName())
+                .lastName(summary.getLastName())
+                .email(summary.getEmail())
+                .phone(summary.getPhone())
+                .birthDate(summary.getBirthDate())
+                .gender(summary.getGender())
+                .city(summary.getCity())
+                .country(summary.getCountry())
+                .active(summary.getActive())
+                .registrationDate(summary.getRegistrationDate())
+                .build();
+    }
+}
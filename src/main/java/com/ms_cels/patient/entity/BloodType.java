@@ -0,0 +1,67 @@
+package com.ms_cels.patient.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.ms_cels.patient.exception.BadRequestException;
+
+/**
+ * Grupo sanguíneo ABO con factor Rh. En la API se expone como "A+", "AB-", etc. y en la base de
+ * datos como {@code smallint} ({@link #getDbCode()}), vía {@link BloodTypeConverter}.
+ * Los códigos de base de datos son parte del esquema: no reordenar ni reutilizar.
+ */
+public enum BloodType {
+    A_POSITIVE((short) 1, "A+"),
+    A_NEGATIVE((short) 2, "A-"),
+    B_POSITIVE((short) 3, "B+"),
+    B_NEGATIVE((short) 4, "B-"),
+    AB_POSITIVE((short) 5, "AB+"),
+    AB_NEGATIVE((short) 6, "AB-"),
+    O_POSITIVE((short) 7, "O+"),
+    O_NEGATIVE((short) 8, "O-");
+
+    private static final BloodType[] BY_DB_CODE = new BloodType[9];
+
+    static {
+        for (BloodType bloodType : values()) {
+            BY_DB_CODE[bloodType.dbCode] = bloodType;
+        }
+    }
+
+    private final short dbCode;
+    private final String code;
+
+    BloodType(short dbCode, String code) {
+        this.dbCode = dbCode;
+        this.code = code;
+    }
+
+    public short getDbCode() {
+        return dbCode;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    @JsonCreator
+    public static BloodType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (BloodType bloodType : values()) {
+            if (bloodType.code.equals(code)) {
+                return bloodType;
+            }
+        }
+        throw new BadRequestException("Tipo de sangre inválido (debe ser A+, A-, B+, B-, AB+, AB-, O+, O-)");
+    }
+
+    public static BloodType fromDbCode(short dbCode) {
+        BloodType bloodType = dbCode > 0 && dbCode < BY_DB_CODE.length ? BY_DB_CODE[dbCode] : null;
+        if (bloodType == null) {
+            throw new IllegalStateException("Código de tipo de sangre desconocido en base de datos: " + dbCode);
+        }
+        return bloodType;
+    }
+}
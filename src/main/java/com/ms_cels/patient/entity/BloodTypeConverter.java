@@ -0,0 +1,18 @@
+package com.ms_cels.patient.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class BloodTypeConverter implements AttributeConverter<BloodType, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(BloodType bloodType) {
+        return bloodType == null ? null : bloodType.getDbCode();
+    }
+
+    @Override
+    public BloodType convertToEntityAttribute(Short dbCode) {
+        return dbCode == null ? null : BloodType.fromDbCode(dbCode);
+    }
+}
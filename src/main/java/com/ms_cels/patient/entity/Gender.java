@@ -0,0 +1,75 @@
+package com.ms_cels.patient.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.ms_cels.patient.exception.BadRequestException;
+
+/**
+ * Género del paciente. En la API se expone con su código de texto ("M", "F", "O", "NB", "X") y en
+ * la base de datos como {@code smallint} ({@link #getDbCode()}), vía {@link GenderConverter}.
+ * Los códigos de base de datos son parte del esquema: no reordenar ni reutilizar.
+ */
+public enum Gender {
+    MALE((short) 1, "M"),
+    FEMALE((short) 2, "F"),
+    OTHER((short) 3, "O"),
+    NON_BINARY((short) 4, "NB"),
+    UNSPECIFIED((short) 5, "X");
+
+    private static final Gender[] BY_DB_CODE = new Gender[6];
+
+    static {
+        for (Gender gender : values()) {
+            BY_DB_CODE[gender.dbCode] = gender;
+        }
+    }
+
+    private final short dbCode;
+    private final String code;
+
+    Gender(short dbCode, String code) {
+        this.dbCode = dbCode;
+        this.code = code;
+    }
+
+    public short getDbCode() {
+        return dbCode;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Acepta el código sin distinguir mayúsculas; "N" y "B" sueltos (admitidos por la validación
+     * anterior) se interpretan como "NB".
+     */
+    @JsonCreator
+    public static Gender fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        if (code.length() == 1) {
+            switch (code.charAt(0)) {
+                case 'M', 'm': return MALE;
+                case 'F', 'f': return FEMALE;
+                case 'O', 'o': return OTHER;
+                case 'N', 'n', 'B', 'b': return NON_BINARY;
+                case 'X', 'x': return UNSPECIFIED;
+                default: break;
+            }
+        } else if (code.equalsIgnoreCase("NB")) {
+            return NON_BINARY;
+        }
+        throw new BadRequestException("El género debe ser M, F, O, NB o X");
+    }
+
+    public static Gender fromDbCode(short dbCode) {
+        Gender gender = dbCode > 0 && dbCode < BY_DB_CODE.length ? BY_DB_CODE[dbCode] : null;
+        if (gender == null) {
+            throw new IllegalStateException("Código de género desconocido en base de datos: " + dbCode);
+        }
+        return gender;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ms_cels.patient.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class GenderConverter implements AttributeConverter<Gender, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Gender gender) {
+        return gender == null ? null : gender.getDbCode();
+    }
+
+    @Override
+    public Gender convertToEntityAttribute(Short dbCode) {
+        return dbCode == null ? null : Gender.fromDbCode(dbCode);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ms_cels.patient.entity;
+
+import com.ms_cels.patient.event.PatientChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fila del outbox transaccional: se inserta en la misma transacción que el cambio del paciente y
+ * OutboxRelay la publica después. Solo lleva el id y el tipo de cambio (evento "delgado"): los
+ * datos personales no salen del servicio por esta vía; el consumidor los consulta si los necesita.
+ * <p>
+ * El id IDENTITY da el orden de publicación. Con una secuencia agrupada (pooled) dos instancias
+ * reservarían bloques distintos y los eventos de un mismo paciente podrían quedar desordenados.
+ */
+@Entity
+@Table(name = "patient_outbox", indexes = {
+        // Lectura del relay: WHERE published_at IS NULL ORDER BY id
+        @Index(name = "idx_patient_outbox_pending", columnList = "published_at, id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private PatientChangeType eventType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -1,16 +1,32 @@
 package com.ms_cels.patient.entity;
 
+import com.ms_cels.patient.entity.id.UuidV7;
+import com.ms_cels.patient.entity.seq.ChangeSequence;
+import com.ms_cels.patient.entity.seq.TransactionTimestamp;
 import jakarta.persistence.*;
+import com.ms_cels.patient.validation.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.LazyGroup;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "patients")
+@DynamicUpdate
+@Table(name = "patients", indexes = {
+        // Soporta la paginación keyset del listado: WHERE active ORDER BY registration_date, id
+        @Index(name = "idx_patients_active_registration", columnList = "active, registration_date, id"),
+        @Index(name = "idx_patients_birth_date", columnList = "birth_date"),
+        // Cohortes por rango de nacimiento: WHERE active AND birth_date BETWEEN ... [AND city = ...]
+        @Index(name = "idx_patients_active_birth_city", columnList = "active, birth_date, city"),
+        // Feed de cambios: WHERE (updated_at, change_seq) > watermark ORDER BY updated_at, change_seq
+        @Index(name = "idx_patients_changes", columnList = "updated_at, change_seq"),
+        // Búsqueda: WHERE active AND (last_name, first_name, id) > cursor ORDER BY last_name, first_name, id
+        @Index(name = "idx_patients_active_name", columnList = "active, last_name, first_name, id")
+})
 @Data
 @Getter
 @Setter
@@ -20,20 +36,17 @@ import java.util.UUID;
 public class Patient {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @UuidV7 // Ordenado por tiempo: inserciones al final del índice de la PK
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
     @NotBlank(message = "El nombre no puede estar vacío")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$",
-            message = "El nombre debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
+    @ValidPersonName(message = "El nombre debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
     @Column(name = "first_name", nullable = false, length = 50)
     private String firstName;
 
     @NotBlank(message = "El apellido no puede estar vacío")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$",
-            message = "El apellido debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
+    @ValidPersonName(message = "El apellido debe contener caracteres alfabéticos y no puede terminar con punto o espacio")
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
@@ -42,17 +55,17 @@ public class Patient {
     @Column(name = "birth_date", nullable = false)
     private LocalDate birthDate;
 
+    // smallint vía GenderConverter / BloodTypeConverter (autoApply). Columnas *_code: las de texto
+    // anteriores conviven hasta la fase contract (db/contract/postgresql/R__drop_text_codes.sql)
     @NotNull(message = "El género es obligatorio")
-    @Pattern(regexp = "^[MFONBXmfonbx]$", message = "El género debe ser M, F, O, NB o X")
-    @Column(name = "gender", nullable = false, length = 2)
-    private String gender;
+    @Column(name = "gender_code", nullable = false, columnDefinition = "smallint")
+    private Gender gender;
 
-    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Tipo de sangre inválido (debe ser A+, A-, B+, B-, AB+, AB-, O+, O-)")
-    @Column(name = "blood_type", length = 3)
-    private String bloodType;
+    @Column(name = "blood_type_code", columnDefinition = "smallint")
+    private BloodType bloodType;
 
     @NotBlank(message = "El teléfono no puede estar vacío")
-    @Pattern(regexp = "^\\+?[1-9][0-9]{7,14}$", message = "Formato de teléfono inválido")
+    @ValidPhone
     @Column(name = "phone", nullable = false, unique = true, length = 15)
     private String phone;
 
@@ -66,17 +79,17 @@ public class Patient {
     private String address;
 
     @NotBlank(message = "La ciudad no puede estar vacía")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$", message = "La ciudad debe contener de 2 a 50 caracteres alfabéticos")
+    @ValidPersonName(message = "La ciudad debe contener de 2 a 50 caracteres alfabéticos")
     @Column(name = "city", nullable = false, length = 50)
     private String city;
 
     @NotBlank(message = "El país no puede estar vacío")
-    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$", message = "El país debe contener de 2 a 50 caracteres alfabéticos")
+    @ValidPersonName(message = "El país debe contener de 2 a 50 caracteres alfabéticos")
     @Column(name = "country", nullable = false, length = 50)
     private String country;
 
     @NotBlank(message = "El código postal es obligatorio")
-    @Pattern(regexp = "^[A-Za-z0-9\\-\\s]{3,10}$", message = "Código postal inválido. Debe contener entre 3 y 10 caracteres alfanuméricos")
+    @ValidPostalCode
     @Column(name = "postal_code", nullable = false, length = 10)
     private String postalCode;
 
@@ -98,9 +111,18 @@ public class Patient {
     @Column(name = "emergency_contact_phone3", length = 255)
     private String emergencyContactPhone3;
 
+    // Datos clínicos voluminosos: se cargan bajo demanda (grupo "clinical") y no en cada findById
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("clinical")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "medical_history", columnDefinition = "TEXT")
     private String medicalHistory;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("clinical")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "allergies", length = 500)
     private String allergies;
 
@@ -110,39 +132,35 @@ public class Patient {
     @Column(name = "insurance_number", unique = true, length = 20)
     private String insuranceNumber;
 
-    @Column(name = "registration_date")
+    // Primera clave del keyset de GET /v1/patients: NOT NULL (V7) para que ninguna fila quede fuera del cursor
+    @Column(name = "registration_date", nullable = false)
     private LocalDateTime registrationDate;
 
+    // Reloj de la base de datos, no el de cada instancia: el feed de cambios ordena por esta columna
+    @TransactionTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "status")
-    private Boolean status = true;
+    // Número de cambio, nuevo en cada INSERT/UPDATE: desempata el feed de cambios en el mismo updated_at
+    @ChangeSequence
+    @Column(name = "change_seq")
+    private Long changeSeq;
 
-    @Column(name = "active")
-    private Boolean active = true;
+    @Builder.Default
+    @Column(name = "status", nullable = false, columnDefinition = "boolean default true")
+    private boolean status = true;
 
-    @Column(name = "date_birth")
-    private LocalDate dateBirth;
+    @Builder.Default
+    @Column(name = "active", nullable = false, columnDefinition = "boolean default true")
+    private boolean active = true;
+
+    // Control de concurrencia optimista; también se expone como ETag en la API
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 
     @PrePersist
     protected void onCreate() {
         registrationDate = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
-
-        // Sincroniza date_birth con birth_date para mantener compatibilidad
-        if (birthDate != null && dateBirth == null) {
-            dateBirth = birthDate;
-        }
-    }
-
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
-
-        // Sincroniza date_birth con birth_date para mantener compatibilidad
-        if (birthDate != null) {
-            dateBirth = birthDate;
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.ms_cels.patient.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marca un identificador {@link java.util.UUID} para que se genere como UUIDv7 (RFC 9562),
+ * ordenado por tiempo. Se genera en memoria antes del INSERT, así que es compatible con el
+ * batching JDBC de Hibernate.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
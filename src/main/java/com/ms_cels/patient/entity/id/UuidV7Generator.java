@@ -0,0 +1,74 @@
+package com.ms_cels.patient.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * Generador de UUIDv7: 48 bits de timestamp en milisegundos, 12 bits de contador
+ * (rand_a, "method 1" del RFC 9562) y 62 bits aleatorios.
+ * <p>
+ * El contador garantiza que los ids de un mismo nodo sean estrictamente crecientes aunque se
+ * generen varios en el mismo milisegundo; entre nodos no hace falta coordinación porque los
+ * 62 bits aleatorios evitan colisiones. En Postgres los valores nuevos se agregan al borde
+ * derecho del índice B-tree de la llave primaria en lugar de repartirse por todo el árbol.
+ * <p>
+ * Los ids se exponen en la API, así que los bits aleatorios salen de un {@link SecureRandom}
+ * (uno por hilo, para no serializar las inserciones concurrentes en un único generador).
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    // (timestamp en ms << 12) | contador del último id emitido
+    private static final AtomicLong LAST_STATE = new AtomicLong(initialState());
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long state = nextState(System.currentTimeMillis());
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+
+        long msb = (timestamp << 16) | (0x7L << 12) | counter;
+        long lsb = (RANDOM.get().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /*
+     * Si el reloj no avanzó (o retrocedió) se incrementa el contador; al desbordarse, el
+     * incremento pasa al timestamp, que queda levemente adelantado hasta que el reloj lo alcance.
+     */
+    private static long nextState(long nowMillis) {
+        long candidate = nowMillis << COUNTER_BITS;
+        while (true) {
+            long last = LAST_STATE.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_STATE.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    // Contador inicial aleatorio en la mitad baja para no hacer predecibles los primeros ids
+    private static long initialState() {
+        return (System.currentTimeMillis() << COUNTER_BITS) | new SecureRandom().nextInt(1 << (COUNTER_BITS - 1));
+    }
+}
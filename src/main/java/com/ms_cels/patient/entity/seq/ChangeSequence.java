@@ -0,0 +1,21 @@
+package com.ms_cels.patient.entity.seq;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marca un atributo {@link Long} que recibe un número nuevo de la secuencia de cambios
+ * ({@value ChangeSequenceGenerator#SEQUENCE_NAME}) en cada INSERT y en cada UPDATE de la entidad.
+ * El valor se asigna en memoria antes de ejecutar la sentencia, así que no impide el batching JDBC.
+ */
+@ValueGenerationType(generatedBy = ChangeSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ChangeSequence {
+}
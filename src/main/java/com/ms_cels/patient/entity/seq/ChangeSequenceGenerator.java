@@ -0,0 +1,104 @@
+package com.ms_cels.patient.entity.seq;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_AND_UPDATE;
+
+/**
+ * Asigna números de la secuencia de cambios reservándolos por bloques ("pooled-lo"): cada
+ * {@code nextval} devuelve el inicio de un bloque de {@value #ALLOCATION_SIZE} valores que esta
+ * instancia entrega en orden sin volver a la base de datos.
+ * <p>
+ * Los valores son únicos entre instancias y crecientes dentro de cada una, pero dos instancias
+ * pueden entregar sus bloques intercalados. Por eso el feed de cambios ordena por
+ * (updated_at, change_seq): la secuencia solo desempata las filas con el mismo instante.
+ * <p>
+ * Quien escriba la columna fuera de Hibernate (UPDATE masivos, DEFAULT de la columna) debe usar
+ * {@code nextval} directamente: consume un bloque entero, pero nunca repite un valor.
+ */
+public class ChangeSequenceGenerator implements BeforeExecutionGenerator {
+
+    public static final String SEQUENCE_NAME = "patient_change_seq";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public ChangeSequenceGenerator(ChangeSequence annotation, Member member, GeneratorCreationContext context) {
+        registerSequence(context.getDatabase());
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                next = nextBlock(session);
+                limit = next + ALLOCATION_SIZE;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_AND_UPDATE;
+    }
+
+    // Declara la secuencia en el modelo relacional para que ddl-auto la cree junto con la tabla
+    private static void registerSequence(Database database) {
+        Namespace namespace = database.getDefaultNamespace();
+        Identifier name = Identifier.toIdentifier(SEQUENCE_NAME);
+        if (namespace.locateSequence(name) == null) {
+            namespace.createSequence(name, physicalName -> new Sequence(
+                    ChangeSequenceGenerator.class.getName(),
+                    namespace.getPhysicalName().getCatalog(),
+                    namespace.getPhysicalName().getSchema(),
+                    physicalName,
+                    1,
+                    ALLOCATION_SIZE));
+        }
+    }
+
+    /*
+     * Se ejecuta durante el flush: va directo por el JdbcCoordinator de la sesión (como las
+     * secuencias de identificadores de Hibernate) en lugar de una query nativa, que volvería a
+     * disparar el auto-flush.
+     */
+    private static long nextBlock(SharedSessionContractImplementor session) {
+        String sql = session.getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+        JdbcCoordinator coordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = coordinator.getStatementPreparer().prepareStatement(sql);
+        try {
+            ResultSet rs = coordinator.getResultSetReturn().extract(statement, sql);
+            if (!rs.next()) {
+                throw new IllegalStateException("La secuencia " + SEQUENCE_NAME + " no devolvió ningún valor");
+            }
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "No se pudo obtener el siguiente bloque de " + SEQUENCE_NAME, sql);
+        } finally {
+            coordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            coordinator.afterStatementExecution();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ms_cels.patient.entity.seq;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marca un atributo {@link java.time.LocalDateTime} que recibe, en cada INSERT y en cada UPDATE
+ * de la entidad, el {@code LOCALTIMESTAMP} de la base de datos: en PostgreSQL, el inicio de la
+ * transacción que escribe según el reloj del servidor, igual para todas las instancias.
+ * <p>
+ * Junto con {@link #WRITE_TIMEOUT} acota cuándo puede confirmarse una fila: como mucho
+ * {@code write-timeout} después de su marca. El feed de cambios se apoya en esa cota.
+ */
+@ValueGenerationType(generatedBy = TransactionTimestampGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TransactionTimestamp {
+
+    /**
+     * Timeout, en segundos, de toda transacción que escribe pacientes ({@code timeoutString} de
+     * {@code @Transactional}).
+     */
+    String WRITE_TIMEOUT = "${patient.changes.write-timeout-seconds:10}";
+}
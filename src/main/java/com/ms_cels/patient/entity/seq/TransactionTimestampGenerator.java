@@ -0,0 +1,78 @@
+package com.ms_cels.patient.entity.seq;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_AND_UPDATE;
+
+/**
+ * Asigna el {@code LOCALTIMESTAMP} de la base de datos. Como en PostgreSQL no cambia dentro de una
+ * transacción, se consulta una sola vez por transacción de Spring y se reutiliza para todas las
+ * filas que escribe (un bloque de la importación masiva hace un único viaje extra, no uno por fila).
+ * Fuera de una transacción de Spring se consulta en cada escritura.
+ */
+public class TransactionTimestampGenerator implements BeforeExecutionGenerator {
+
+    private static final String SQL = "SELECT LOCALTIMESTAMP";
+
+    // Clave del recurso ligado a la transacción; una por generador basta (solo hay un atributo)
+    private final Object resourceKey = new Object();
+
+    public TransactionTimestampGenerator(TransactionTimestamp annotation, Member member, GeneratorCreationContext context) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return currentTimestamp(session);
+        }
+        LocalDateTime timestamp = (LocalDateTime) TransactionSynchronizationManager.getResource(resourceKey);
+        if (timestamp == null) {
+            timestamp = currentTimestamp(session);
+            TransactionSynchronizationManager.bindResource(resourceKey, timestamp);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+            });
+        }
+        return timestamp;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_AND_UPDATE;
+    }
+
+    // Mismo camino que ChangeSequenceGenerator: la conexión de la sesión, sin disparar el auto-flush
+    private static LocalDateTime currentTimestamp(SharedSessionContractImplementor session) {
+        JdbcCoordinator coordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = coordinator.getStatementPreparer().prepareStatement(SQL);
+        try {
+            ResultSet rs = coordinator.getResultSetReturn().extract(statement, SQL);
+            if (!rs.next()) {
+                throw new IllegalStateException("LOCALTIMESTAMP no devolvió ningún valor");
+            }
+            return rs.getObject(1, LocalDateTime.class);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "No se pudo leer la hora de la base de datos", SQL);
+        } finally {
+            coordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            coordinator.afterStatementExecution();
+        }
+    }
+}
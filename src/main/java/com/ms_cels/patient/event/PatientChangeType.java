@@ -0,0 +1,11 @@
+package com.ms_cels.patient.event;
+
+/**
+ * Tipo de cambio de un {@link PatientChangedEvent}; se publica tal cual en el outbox.
+ */
+public enum PatientChangeType {
+    CREATED,
+    UPDATED,
+    DEACTIVATED,
+    REACTIVATED
+}
@@ -0,0 +1,11 @@
+package com.ms_cels.patient.event;
+
+import java.util.UUID;
+
+/**
+ * Se publica cada vez que un paciente se crea, modifica, elimina o reactiva, dentro de la
+ * transacción que hace el cambio. Los listeners que mantienen estructuras derivadas (índices,
+ * feeds) deben escucharlo después del commit; el outbox lo escribe antes, en la misma transacción.
+ */
+public record PatientChangedEvent(UUID patientId, PatientChangeType type) {
+}
@@ -1,10 +1,17 @@
 package com.ms_cels.patient.exception;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -17,10 +24,13 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
     // ✅ Captura errores de validación en DTO con @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
@@ -33,7 +43,7 @@ public class GlobalExceptionHandler {
                 ))
                 .toList();
 
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Errores de validación", errors);
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Errores de validación", errors);
     }
 
     // ✅ Captura errores de validación en parámetros de URL (@RequestParam, @PathVariable, etc.)
@@ -48,7 +58,7 @@ public class GlobalExceptionHandler {
                 ))
                 .toList();
 
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Errores de validación", errors);
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Errores de validación", errors);
     }
 
     // ✅ Captura errores de UUID mal formateados
@@ -61,7 +71,56 @@ public class GlobalExceptionHandler {
                 "mensaje", "El ID proporcionado no tiene un formato válido de UUID."
         ));
 
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Solicitud incorrecta", errors);
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Solicitud incorrecta", errors);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequestException(BadRequestException ex) {
+        logger.warn("Solicitud incorrecta: {}", ex.getMessage());
+
+        List<Map<String, String>> errors = List.of(Map.of(
+                "mensaje", ex.getMessage()
+        ));
+
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Solicitud incorrecta", errors);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        logger.warn("Precondición fallida: {}", ex.getMessage());
+
+        List<Map<String, String>> errors = List.of(Map.of(
+                "campo", "If-Match",
+                "mensaje", ex.getMessage()
+        ));
+
+        return buildErrorResponse(ex, HttpStatus.PRECONDITION_FAILED, "Precondición fallida", errors);
+    }
+
+    // ✅ Dos escrituras concurrentes sobre la misma versión: gana la primera
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        logger.warn("Conflicto de concurrencia: {}", ex.getMessage());
+
+        List<Map<String, String>> errors = List.of(Map.of(
+                "campo", "version",
+                "mensaje", "El paciente fue modificado por otra solicitud. Vuelva a consultarlo e intente de nuevo."
+        ));
+
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, "Conflicto de concurrencia", errors);
+    }
+
+    // ✅ Sin conexión disponible (pool o limitador de admisión saturados): 503 para que el cliente reintente
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(Exception ex) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        logger.warn("Base de datos no disponible: {}", cause.getMessage());
+
+        List<Map<String, String>> errors = List.of(Map.of(
+                "mensaje", "El servicio está saturado en este momento. Intente de nuevo en unos segundos."
+        ));
+
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, "Servicio no disponible", errors);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
@@ -84,7 +143,7 @@ public class GlobalExceptionHandler {
             ));
         }
 
-        return buildErrorResponse(HttpStatus.CONFLICT, "Violación de restricciones", errors);
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, "Violación de restricciones", errors);
     }
 
     // ✅ Captura cualquier otra excepción y evita errores internos 500
@@ -105,7 +164,7 @@ public class GlobalExceptionHandler {
                 "mensaje", "Ocurrió un error inesperado. Contacte con soporte."
         ));
 
-        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Error interno del servidor", errors);
+        return buildErrorResponse(ex, HttpStatus.INTERNAL_SERVER_ERROR, "Error interno del servidor", errors);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -117,7 +176,7 @@ public class GlobalExceptionHandler {
                 "mensaje", ex.getMessage()
         ));
 
-        return buildErrorResponse(HttpStatus.NOT_FOUND, "Recurso no encontrado", errors);
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, "Recurso no encontrado", errors);
     }
 
 
@@ -136,12 +195,19 @@ public class GlobalExceptionHandler {
                 "mensaje", "El recurso solicitado no existe"
         ));
 
-        return buildErrorResponse(HttpStatus.NOT_FOUND, "Recurso no encontrado", errors);
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, "Recurso no encontrado", errors);
     }
 
 
-    // ✅ Método para construir una respuesta con múltiples errores
-    private ResponseEntity<Map<String, Object>> buildErrorResponse(HttpStatus status, String errorType, List<Map<String, String>> errors) {
+    // ✅ Método para construir una respuesta con múltiples errores; cuenta el error por tipo y estado
+    private ResponseEntity<Map<String, Object>> buildErrorResponse(Exception ex, HttpStatus status, String errorType, List<Map<String, String>> errors) {
+        Counter.builder("patient.http.errors")
+                .description("Errores devueltos por GlobalExceptionHandler")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", Integer.toString(status.value()))
+                .register(meterRegistry)
+                .increment();
+
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
         response.put("status", status.value());
@@ -0,0 +1,7 @@
+package com.ms_cels.patient.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ms_cels.patient.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Codifica cada evento como una línea JSON: {@code @timestamp}, {@code level}, {@code logger},
+ * {@code thread}, {@code traceId} (MDC de {@code TraceIdFilter}), {@code message} y, si hay
+ * excepción, {@code stackTrace}. El mensaje y la traza pasan por {@link PhiMasker}.
+ * Se reutiliza un {@link StringBuilder} por hilo para no generar basura por evento.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private boolean maskPhi = true;
+
+    public void setMaskPhi(boolean maskPhi) {
+        this.maskPhi = maskPhi;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+
+        sb.append("{\"@timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(event.getTimeStamp()), sb);
+        sb.append("\",\"level\":\"").append(event.getLevel().levelStr);
+        field(sb, "logger", event.getLoggerName());
+        field(sb, "thread", event.getThreadName());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String traceId = mdc != null ? mdc.get("traceId") : null;
+        if (traceId != null) {
+            field(sb, "traceId", traceId);
+        }
+
+        field(sb, "message", masked(event.getFormattedMessage()));
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(sb, "stackTrace", masked(ThrowableProxyUtil.asString(throwable)));
+        }
+        sb.append("\"}\n");
+
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        // Un mensaje excepcionalmente grande no debe dejar el búfer inflado para siempre
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private String masked(String value) {
+        return maskPhi ? PhiMasker.mask(value) : value;
+    }
+
+    private static void field(StringBuilder sb, String name, String value) {
+        sb.append("\",\"").append(name).append("\":\"");
+        escape(sb, value);
+    }
+
+    private static void escape(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
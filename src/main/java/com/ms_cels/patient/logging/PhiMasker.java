@@ -0,0 +1,57 @@
+package com.ms_cels.patient.logging;
+
+import java.util.regex.Pattern;
+
+/**
+ * Enmascara datos personales y clínicos (PHI) en los mensajes de log antes de escribirlos.
+ * Cubre los {@code toString()} de Lombok ({@code email=...}), JSON ({@code "email":"..."}),
+ * correos y números de teléfono sueltos. Los mensajes sin ninguna señal de PHI se devuelven
+ * sin tocar tras un único recorrido, sin evaluar expresiones regulares.
+ */
+public final class PhiMasker {
+
+    static final String MASK = "***";
+
+    private static final String PHI_FIELDS = "firstName|lastName|email|phone|birthDate|dateBirth|address|postalCode"
+            + "|emergencyContact(?:Name|Phone)[23]?|medicalHistory|allergies|insuranceNumber|insuranceProvider";
+
+    private static final Pattern KEY_VALUE = Pattern.compile("\\b(" + PHI_FIELDS + ")=([^,)\\]]*)");
+    private static final Pattern JSON_FIELD = Pattern.compile("\"(" + PHI_FIELDS + ")\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|[^,}\\]]+)");
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(?:\\.[\\w-]+)+");
+    // Siete o más dígitos seguidos (con espacios o "+" opcionales) que no formen parte de un UUID
+    private static final Pattern PHONE = Pattern.compile("(?<![\\w-])\\+?\\d[\\d ]{5,}\\d(?![\\w-])");
+
+    private static final int PHONE_MIN_DIGITS = 7;
+
+    private PhiMasker() {
+    }
+
+    public static String mask(String message) {
+        if (message == null || !mayContainPhi(message)) {
+            return message;
+        }
+        String masked = KEY_VALUE.matcher(message).replaceAll("$1=" + MASK);
+        masked = JSON_FIELD.matcher(masked).replaceAll("\"$1\":\"" + MASK + "\"");
+        masked = EMAIL.matcher(masked).replaceAll(MASK + "@" + MASK);
+        return PHONE.matcher(masked).replaceAll(MASK);
+    }
+
+    // Pre-filtro barato: '=', '@', comillas o una racha de dígitos lo bastante larga para ser un teléfono
+    private static boolean mayContainPhi(String message) {
+        int digits = 0;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '=' || c == '@' || c == '"') {
+                return true;
+            }
+            if (c >= '0' && c <= '9') {
+                if (++digits >= PHONE_MIN_DIGITS) {
+                    return true;
+                }
+            } else if (c != ' ' && c != '+') {
+                digits = 0;
+            }
+        }
+        return false;
+    }
+}
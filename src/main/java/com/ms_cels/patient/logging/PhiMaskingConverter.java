@@ -0,0 +1,16 @@
+package com.ms_cels.patient.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Variante de {@code %msg} con PHI enmascarada, para la salida en texto plano
+ * ({@code conversionRule} {@code maskedMsg} en {@code logback-spring.xml}).
+ */
+public class PhiMaskingConverter extends MessageConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return PhiMasker.mask(super.convert(event));
+    }
+}
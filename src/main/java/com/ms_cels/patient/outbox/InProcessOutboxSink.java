@@ -0,0 +1,25 @@
+package com.ms_cels.patient.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publica cada evento como {@link OutboxMessage} en el bus de eventos de Spring, para consumidores
+ * dentro del mismo proceso. Es el destino por defecto y el que usan las pruebas.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "patient.outbox.sink", havingValue = "in-process", matchIfMissing = true)
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        batch.forEach(eventPublisher::publishEvent);
+    }
+}
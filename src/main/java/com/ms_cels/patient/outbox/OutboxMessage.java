@@ -0,0 +1,18 @@
+package com.ms_cels.patient.outbox;
+
+import com.ms_cels.patient.entity.OutboxEvent;
+import com.ms_cels.patient.event.PatientChangeType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento tal como lo reciben los consumidores. {@code eventId} es creciente y único: sirve para
+ * descartar duplicados (la entrega es al menos una vez) y como posición de consumo.
+ */
+public record OutboxMessage(long eventId, PatientChangeType type, UUID patientId, LocalDateTime occurredAt) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEventType(), event.getPatientId(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,112 @@
+package com.ms_cels.patient.outbox;
+
+import com.ms_cels.patient.entity.OutboxEvent;
+import com.ms_cels.patient.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vacía el outbox por lotes y en orden de id hacia el {@link OutboxSink} configurado.
+ * <p>
+ * Cada lote se bloquea, se publica y se marca como publicado en una sola transacción. Si el sink
+ * falla, la transacción se revierte y el lote se reintenta entero en el siguiente ciclo: la entrega
+ * es al menos una vez y en orden; los consumidores descartan duplicados por {@code eventId}.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${patient.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${patient.outbox.retention-hours:72}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+        this.published = Counter.builder("patient.outbox.published")
+                .description("Eventos del outbox entregados al sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("patient.outbox.relay.failures")
+                .description("Lotes del outbox que el sink rechazó y se reintentarán")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${patient.outbox.relay.interval-ms:1000}",
+            initialDelayString = "${patient.outbox.relay.initial-delay-ms:5000}")
+    public void scheduledDrain() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // El lote sigue pendiente; el próximo ciclo lo reintenta
+            failures.increment();
+            logger.warn("⚠️ No se pudo publicar el outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publica lotes hasta vaciar el outbox y devuelve cuántos eventos se entregaron.
+     */
+    public int drain() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findPendingForUpdate(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(batch.stream().map(OutboxMessage::of).toList());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+            return batch.size();
+        });
+        int count = relayed != null ? relayed : 0;
+        published.increment(count);
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${patient.outbox.cleanup-interval-ms:3600000}",
+            initialDelayString = "${patient.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.info("🧹 Outbox: {} eventos publicados eliminados", deleted);
+        }
+    }
+}
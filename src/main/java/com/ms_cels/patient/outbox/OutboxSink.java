@@ -0,0 +1,16 @@
+package com.ms_cels.patient.outbox;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos del outbox. Se elige con {@code patient.outbox.sink}
+ * ({@code in-process}, {@code file} o {@code webhook}).
+ * <p>
+ * Recibe los lotes en orden de {@code eventId}. Si lanza una excepción el lote completo se
+ * reintenta en el siguiente ciclo, así que publicar debe ser idempotente desde el punto de vista
+ * del consumidor.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
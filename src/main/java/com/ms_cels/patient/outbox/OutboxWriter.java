@@ -0,0 +1,34 @@
+package com.ms_cels.patient.outbox;
+
+import com.ms_cels.patient.entity.OutboxEvent;
+import com.ms_cels.patient.event.PatientChangedEvent;
+import com.ms_cels.patient.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Escribe el outbox en la misma transacción que el cambio: si la transacción se revierte, el
+ * evento desaparece con ella y nunca se publica un cambio que no llegó a confirmarse.
+ * <p>
+ * BEFORE_COMMIT y sin fallbackExecution: un evento publicado fuera de una transacción no se
+ * registraría de forma atómica, así que se ignora en lugar de escribirse por separado.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPatientChanged(PatientChangedEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .patientId(event.patientId())
+                .eventType(event.type())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.ms_cels.patient.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envía cada lote como un arreglo JSON en un único POST. Cualquier respuesta que no sea 2xx (o un
+ * timeout) hace fallar el lote, que se reintenta completo en el siguiente ciclo del relay.
+ */
+@Component
+@ConditionalOnProperty(name = "patient.outbox.sink", havingValue = "webhook")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public WebhookOutboxSink(@Value("${patient.outbox.webhook.url}") URI url,
+                             @Value("${patient.outbox.webhook.timeout-ms:5000}") long timeoutMs,
+                             ObjectMapper objectMapper) {
+        this.url = url;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("El webhook respondió " + response.statusCode() + " al publicar "
+                    + batch.size() + " eventos");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ms_cels.patient.repository;
+
+import com.ms_cels.patient.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /*
+     * Siguiente lote pendiente, bloqueado (FOR UPDATE) hasta que termine la transacción del relay.
+     * Sin SKIP LOCKED a propósito: si dos instancias coinciden, la segunda espera y continúa
+     * después, en lugar de publicar eventos posteriores antes que los del lote bloqueado.
+     * Nativa para emitir un FOR UPDATE simple, válido tanto en PostgreSQL como en H2.
+     */
+    @Query(value = "SELECT * FROM patient_outbox WHERE published_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<OutboxEvent> findPendingForUpdate(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+
+    long countByPublishedAtIsNull();
+}
@@ -1,11 +1,27 @@
 package com.ms_cels.patient.repository;
 
+import com.ms_cels.patient.dto.PatientChangeView;
+import com.ms_cels.patient.dto.PatientClinicalDto;
+import com.ms_cels.patient.dto.PatientSummary;
 import com.ms_cels.patient.entity.Patient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+// Las consultas declaradas aquí no heredan la configuración transaccional de SimpleJpaRepository
+@Transactional(readOnly = true)
 public interface PatientRepository extends JpaRepository<Patient, UUID> {
 
     boolean existsByEmail(String email);
@@ -14,5 +30,90 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     Optional<Patient> findByEmail(String email);
     Optional<Patient> findByPhone(String phone);
 
-    List<Patient> findByActiveTrue();
-}
\ No newline at end of file
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.firstName AS firstName, p.lastName AS lastName, " +
+            "p.email AS email, p.phone AS phone, p.birthDate AS birthDate, p.gender AS gender, " +
+            "p.city AS city, p.country AS country, p.active AS active, p.registrationDate AS registrationDate " +
+            "FROM Patient p ";
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :id")
+    Optional<PatientSummary> findSummaryById(@Param("id") UUID id);
+
+    // Consulta por lotes (p. ej. el servicio de citas): solo las columnas del resumen
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<PatientSummary> findSummaryByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Primera página del listado paginado por keyset (registrationDate, id)
+    @Query(SUMMARY_SELECT + "WHERE p.active = true ORDER BY p.registrationDate ASC, p.id ASC")
+    Slice<PatientSummary> findActiveFirstPage(Pageable pageable);
+
+    // Páginas siguientes: continúa estrictamente después del último (registrationDate, id) entregado
+    @Query(SUMMARY_SELECT + "WHERE p.active = true " +
+            "AND (p.registrationDate > :registrationDate " +
+            "OR (p.registrationDate = :registrationDate AND p.id > :id)) " +
+            "ORDER BY p.registrationDate ASC, p.id ASC")
+    Slice<PatientSummary> findActiveAfter(@Param("registrationDate") LocalDateTime registrationDate,
+                                          @Param("id") UUID id,
+                                          Pageable pageable);
+
+    // Entidad completa, grupo perezoso "clinical" incluido, en un único SELECT: la de getPatient se
+    // cachea y se serializa fuera de la transacción
+    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"medicalHistory", "allergies"})
+    @Query("SELECT p FROM Patient p WHERE p.id = :id")
+    Optional<Patient> findCompleteById(@Param("id") UUID id);
+
+    /*
+     * Cohortes por fecha de nacimiento, paginadas por keyset (birthDate, id) dentro de [bornFrom, bornTo].
+     * La primera página parte de (bornFrom, UUID mínimo). Recorren idx_patients_active_birth_city; la
+     * variante con ciudad es una consulta aparte para que el plan no dependa de un ":city IS NULL".
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.active = true AND p.birthDate <= :bornTo " +
+            "AND (p.birthDate > :birthDate OR (p.birthDate = :birthDate AND p.id > :id)) " +
+            "ORDER BY p.birthDate ASC, p.id ASC")
+    Slice<PatientSummary> findActiveBornAfter(@Param("birthDate") LocalDate birthDate,
+                                              @Param("id") UUID id,
+                                              @Param("bornTo") LocalDate bornTo,
+                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.active = true AND p.birthDate <= :bornTo AND p.city = :city " +
+            "AND (p.birthDate > :birthDate OR (p.birthDate = :birthDate AND p.id > :id)) " +
+            "ORDER BY p.birthDate ASC, p.id ASC")
+    Slice<PatientSummary> findActiveBornAfterInCity(@Param("birthDate") LocalDate birthDate,
+                                                    @Param("id") UUID id,
+                                                    @Param("bornTo") LocalDate bornTo,
+                                                    @Param("city") String city,
+                                                    Pageable pageable);
+
+    /*
+     * Feed de cambios: todas las filas (también las inactivas, que son los tombstones) posteriores
+     * a la marca de agua (updatedAt, changeSeq) y no más recientes que :until. Recorre
+     * idx_patients_changes en orden.
+     */
+    @Query("SELECT p.id AS id, p.firstName AS firstName, p.lastName AS lastName, " +
+            "p.email AS email, p.phone AS phone, p.birthDate AS birthDate, p.gender AS gender, " +
+            "p.city AS city, p.country AS country, p.active AS active, p.registrationDate AS registrationDate, " +
+            "p.updatedAt AS updatedAt, p.changeSeq AS changeSeq " +
+            "FROM Patient p WHERE p.updatedAt <= :until " +
+            "AND (p.updatedAt > :updatedAt OR (p.updatedAt = :updatedAt AND p.changeSeq > :changeSeq)) " +
+            "ORDER BY p.updatedAt ASC, p.changeSeq ASC")
+    Slice<PatientChangeView> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                              @Param("changeSeq") long changeSeq,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable pageable);
+
+    @Query("SELECT new com.ms_cels.patient.dto.PatientClinicalDto(p.id, p.medicalHistory, p.allergies) " +
+            "FROM Patient p WHERE p.id = :id")
+    Optional<PatientClinicalDto> findClinicalById(@Param("id") UUID id);
+
+    // Hora de la base de datos (inicio de la transacción en PostgreSQL), la misma que recibe updatedAt
+    @Query("SELECT local datetime")
+    LocalDateTime currentTimestamp();
+
+    // Baja/reactivación lógica sin leer la entidad: solo toca las filas que cambian de estado.
+    // Al no pasar por Hibernate, el número de cambio y la hora se toman directamente de la base de datos
+    @Modifying
+    @Transactional
+    @Query("UPDATE Patient p SET p.active = :active, p.updatedAt = local datetime, p.version = p.version + 1, " +
+            "p.changeSeq = function('nextval', 'patient_change_seq') " +
+            "WHERE p.id = :id AND p.active <> :active")
+    int updateActive(@Param("id") UUID id, @Param("active") boolean active);
+}
@@ -0,0 +1,14 @@
+package com.ms_cels.patient.service;
+
+import com.ms_cels.patient.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PatientExportService {
+    /**
+     * Escribe el padrón completo (activos e inactivos, sin datos clínicos) en {@code output} a
+     * medida que se lee de la base de datos. Devuelve el número de filas exportadas.
+     */
+    long exportPatients(ExportFormat format, OutputStream output) throws IOException;
+}
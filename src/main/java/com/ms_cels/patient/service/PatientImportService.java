@@ -0,0 +1,27 @@
+package com.ms_cels.patient.service;
+
+import com.ms_cels.patient.dto.BulkImportResult;
+import com.ms_cels.patient.dto.BulkImportSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface PatientImportService {
+    /**
+     * Importa pacientes leyendo {@code input} de forma incremental (NDJSON o un arreglo JSON).
+     * Cada resultado se entrega a {@code resultSink} en cuanto su bloque se confirma.
+     */
+    BulkImportSummary importPatients(InputStream input, boolean ndjson, ResultSink resultSink) throws IOException;
+
+    /**
+     * Recibe los resultados de la importación. {@link #chunkCompleted()} se invoca tras entregar
+     * los de cada bloque procesado: es el momento de enviar al cliente lo acumulado.
+     */
+    @FunctionalInterface
+    interface ResultSink extends Consumer<BulkImportResult> {
+
+        default void chunkCompleted() {
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ms_cels.patient.service;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientSummary;
+
+public interface PatientSearchService {
+    /**
+     * Busca pacientes activos por prefijo de nombre (sin distinguir acentos ni mayúsculas),
+     * ciudad y/o país. Al menos uno de los criterios es obligatorio.
+     */
+    CursorPage<PatientSummary> search(String query, String city, String country, String cursor, Integer size);
+}
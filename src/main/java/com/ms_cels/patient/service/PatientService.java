@@ -1,15 +1,35 @@
 package com.ms_cels.patient.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientChange;
+import com.ms_cels.patient.dto.PatientClinicalDto;
 import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientLookupResult;
+import com.ms_cels.patient.dto.PatientSummary;
 import com.ms_cels.patient.entity.Patient;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.UUID;
 
 public interface PatientService {
     Patient addPatient(PatientDto patientDto);
-    Patient updatePatient(UUID id, PatientDto patientDto); // 🟢 Debe ser UUID
+    // expectedVersion: versión (ETag) esperada por el cliente vía If-Match; null si no aplica
+    Patient updatePatient(UUID id, PatientDto patientDto, Long expectedVersion); // 🟢 Debe ser UUID
+    Patient patchPatient(UUID id, JsonNode patch, Long expectedVersion); // JSON Merge Patch (RFC 7396)
     void deletePatient(UUID id);
+    void reactivatePatient(UUID id);
     Patient getPatient(UUID id);
-    List<Patient> getAllPatients();
+    // Multi-get: caché por id y, para los que falten, consultas IN por bloques
+    PatientLookupResult getPatients(Collection<UUID> ids);
+    PatientSummary getPatientSummary(UUID id);
+    PatientClinicalDto getClinicalData(UUID id);
+    CursorPage<PatientSummary> getAllPatients(String cursor, Integer size);
+    // Rango por fechas de nacimiento y/o edades (se intersectan); city opcional, coincidencia exacta
+    CursorPage<PatientSummary> getPatientsByBirthRange(LocalDate bornFrom, LocalDate bornTo,
+                                                       Integer minAge, Integer maxAge, String city,
+                                                       String cursor, Integer size);
+    // Feed de cambios desde una marca de agua (o fecha ISO); las bajas llegan como tombstones
+    CursorPage<PatientChange> getChanges(String since, Integer size);
 }
\ No newline at end of file
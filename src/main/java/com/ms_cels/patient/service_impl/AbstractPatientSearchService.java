@@ -0,0 +1,79 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientSearchCriteria;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.service.PatientSearchService;
+import com.ms_cels.patient.util.SearchCursor;
+import com.ms_cels.patient.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validación, normalización y paginación comunes a los motores de búsqueda. Cada motor solo
+ * resuelve {@link #fetch}: devolver hasta {@code limit} resultados posteriores al cursor
+ * ({@code after}, null en la primera página), ordenados por apellido, nombre e id.
+ */
+public abstract class AbstractPatientSearchService implements PatientSearchService {
+
+    private static final int MAX_NAME_TERMS = 5;
+
+    @Value("${patient.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${patient.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Override
+    public CursorPage<PatientSummary> search(String query, String city, String country, String cursor, Integer size) {
+        PatientSearchCriteria criteria = buildCriteria(query, city, country);
+        int pageSize = resolvePageSize(size);
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        // Se pide un registro extra para saber si existe una página siguiente
+        List<PatientSummary> rows = fetch(criteria, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<PatientSummary> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            PatientSummary last = content.get(content.size() - 1);
+            nextCursor = new SearchCursor(last.getLastName(), last.getFirstName(), last.getId()).encode();
+        }
+
+        return CursorPage.<PatientSummary>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    protected abstract List<PatientSummary> fetch(PatientSearchCriteria criteria, SearchCursor after, int limit);
+
+    private PatientSearchCriteria buildCriteria(String query, String city, String country) {
+        List<String> terms = query == null ? List.of() : Arrays.stream(TextNormalizer.normalize(query).split("[\\s.'-]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        String normalizedCity = blankToNull(TextNormalizer.normalize(city));
+        String normalizedCountry = blankToNull(TextNormalizer.normalize(country));
+
+        if (terms.isEmpty() && normalizedCity == null && normalizedCountry == null) {
+            throw new BadRequestException("Debe indicar al menos un criterio de búsqueda (q, city o country).");
+        }
+        if (terms.size() > MAX_NAME_TERMS) {
+            throw new BadRequestException("La búsqueda admite como máximo " + MAX_NAME_TERMS + " palabras.");
+        }
+        return new PatientSearchCriteria(terms, normalizedCity, normalizedCountry);
+    }
+
+    private int resolvePageSize(Integer requested) {
+        return CursorPage.resolvePageSize(requested, defaultPageSize, maxPageSize);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.PatientSearchCriteria;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.dto.PatientSummaryView;
+import com.ms_cels.patient.event.PatientChangedEvent;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.util.SearchCursor;
+import com.ms_cels.patient.util.TextNormalizer;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Motor de búsqueda en memoria para perfiles sin Postgres (H2 en pruebas). Mantiene un índice
+ * invertido de trigramas del nombre normalizado, con el mismo relleno que pg_trgm ("  ana "),
+ * de modo que los trigramas de "  " + término identifican las palabras que empiezan por él.
+ * Se carga al arrancar y se actualiza con cada {@link PatientChangedEvent}.
+ */
+@Service
+@Timed("patient.service")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "patient.search.engine", havingValue = "memory")
+public class InMemoryPatientSearchService extends AbstractPatientSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryPatientSearchService.class);
+
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s.'-]+");
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry e) -> e.summary().getLastName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(e -> e.summary().getFirstName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(e -> e.summary().getId());
+
+    private final PatientRepository patientRepository;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<String, Set<UUID>> trigramIndex = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        Slice<PatientSummary> slice = patientRepository.findActiveFirstPage(PageRequest.of(0, LOAD_PAGE_SIZE));
+        int loaded = 0;
+        while (true) {
+            for (PatientSummary summary : slice.getContent()) {
+                upsert(summary);
+                loaded++;
+            }
+            if (!slice.hasNext() || slice.getContent().isEmpty()) {
+                break;
+            }
+            PatientSummary last = slice.getContent().get(slice.getContent().size() - 1);
+            slice = patientRepository.findActiveAfter(last.getRegistrationDate(), last.getId(), PageRequest.of(0, LOAD_PAGE_SIZE));
+        }
+        logger.info("🔎 Índice de búsqueda en memoria cargado con {} pacientes", loaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        patientRepository.findSummaryById(event.patientId())
+                .filter(summary -> Boolean.TRUE.equals(summary.getActive()))
+                .ifPresentOrElse(this::upsert, () -> remove(event.patientId()));
+    }
+
+    @Override
+    protected synchronized List<PatientSummary> fetch(PatientSearchCriteria criteria, SearchCursor after, int limit) {
+        Set<UUID> candidates = null;
+        for (String term : criteria.getNameTerms()) {
+            Set<UUID> matches = candidatesFor(term);
+            if (candidates == null) {
+                candidates = new HashSet<>(matches);
+            } else {
+                candidates.retainAll(matches);
+            }
+        }
+
+        return (candidates == null ? entries.keySet() : candidates).stream()
+                .map(entries::get)
+                .filter(entry -> entry.matches(criteria))
+                .filter(entry -> after == null || entry.isAfter(after))
+                .sorted(ORDER)
+                .limit(limit)
+                .map(Entry::summary)
+                .toList();
+    }
+
+    private Set<UUID> candidatesFor(String term) {
+        Set<UUID> result = null;
+        for (String gram : trigrams("  " + term)) {
+            Set<UUID> posting = trigramIndex.getOrDefault(gram, Set.of());
+            if (result == null) {
+                result = new HashSet<>(posting);
+            } else {
+                result.retainAll(posting);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? Set.of() : result;
+    }
+
+    private synchronized void upsert(PatientSummary summary) {
+        remove(summary.getId());
+        String name = " " + WORD_SEPARATORS.matcher(
+                TextNormalizer.normalize(summary.getFirstName() + " " + summary.getLastName())).replaceAll(" ");
+        Entry entry = new Entry(PatientSummaryView.of(summary), name,
+                TextNormalizer.normalize(summary.getCity()), TextNormalizer.normalize(summary.getCountry()));
+        entries.put(summary.getId(), entry);
+        for (String gram : entry.trigrams()) {
+            trigramIndex.computeIfAbsent(gram, key -> new HashSet<>()).add(summary.getId());
+        }
+    }
+
+    private synchronized void remove(UUID id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.trigrams()) {
+            Set<UUID> posting = trigramIndex.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    trigramIndex.remove(gram);
+                }
+            }
+        }
+    }
+
+    // Trigramas de cada palabra rellenada como en pg_trgm: dos espacios antes y uno después
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record Entry(PatientSummary summary, String searchName, String city, String country) {
+
+        Set<String> trigrams() {
+            Set<String> grams = new LinkedHashSet<>();
+            for (String word : searchName.trim().split(" ")) {
+                grams.addAll(InMemoryPatientSearchService.trigrams("  " + word + " "));
+            }
+            return grams;
+        }
+
+        // Mismo criterio que ORDER, comparando con la última fila de la página anterior
+        boolean isAfter(SearchCursor cursor) {
+            int cmp = compareNullsLast(summary.getLastName(), cursor.lastName());
+            if (cmp == 0) {
+                cmp = compareNullsLast(summary.getFirstName(), cursor.firstName());
+            }
+            return cmp > 0 || (cmp == 0 && summary.getId().compareTo(cursor.id()) > 0);
+        }
+
+        private static int compareNullsLast(String value, String other) {
+            if (value == null || other == null) {
+                return value == null ? (other == null ? 0 : 1) : -1;
+            }
+            return value.compareTo(other);
+        }
+
+        boolean matches(PatientSearchCriteria criteria) {
+            for (String term : criteria.getNameTerms()) {
+                if (!searchName.contains(" " + term)) {
+                    return false;
+                }
+            }
+            return (criteria.getCity() == null || criteria.getCity().equals(city))
+                    && (criteria.getCountry() == null || criteria.getCountry().equals(country));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.ms_cels.patient.service_impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.dto.ExportFormat;
+import com.ms_cels.patient.entity.BloodType;
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.service.PatientExportService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exportación del padrón de pacientes en streaming, sin entidades ni contexto de persistencia:
+ * cada fila del ResultSet se escribe en la respuesta y se descarta.
+ * <p>
+ * La consulta va en una transacción de solo lectura (autocommit desactivado) con un
+ * PreparedStatement forward-only y {@code patient.export.fetch-size}: con esas tres condiciones
+ * el driver de Postgres usa un cursor de servidor y trae las filas por bloques en lugar de cargar
+ * el resultado completo en memoria. El heap usado es constante con cualquier número de filas.
+ */
+@Service
+@Timed("patient.service")
+@RequiredArgsConstructor
+public class PatientExportServiceImpl implements PatientExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientExportServiceImpl.class);
+
+    // Datos del padrón; los clínicos (medical_history, allergies) quedan fuera de la exportación
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", ColumnType.UUID),
+            new Column("first_name", ColumnType.TEXT),
+            new Column("last_name", ColumnType.TEXT),
+            new Column("birth_date", ColumnType.DATE),
+            new Column("gender", "gender_code", ColumnType.GENDER),
+            new Column("blood_type", "blood_type_code", ColumnType.BLOOD_TYPE),
+            new Column("phone", ColumnType.TEXT),
+            new Column("email", ColumnType.TEXT),
+            new Column("address", ColumnType.TEXT),
+            new Column("city", ColumnType.TEXT),
+            new Column("country", ColumnType.TEXT),
+            new Column("postal_code", ColumnType.TEXT),
+            new Column("emergency_contact_name", ColumnType.TEXT),
+            new Column("emergency_contact_phone", ColumnType.TEXT),
+            new Column("emergency_contact_name2", ColumnType.TEXT),
+            new Column("emergency_contact_phone2", ColumnType.TEXT),
+            new Column("emergency_contact_name3", ColumnType.TEXT),
+            new Column("emergency_contact_phone3", ColumnType.TEXT),
+            new Column("insurance_provider", ColumnType.TEXT),
+            new Column("insurance_number", ColumnType.TEXT),
+            new Column("registration_date", ColumnType.TIMESTAMP),
+            new Column("updated_at", ColumnType.TIMESTAMP),
+            new Column("active", ColumnType.BOOLEAN));
+
+    // Sin ORDER BY: un recorrido secuencial de la tabla, sin ordenar millones de filas en el servidor
+    private static final String SELECT = "SELECT " +
+            String.join(", ", COLUMNS.stream().map(Column::select).toList()) + " FROM patients";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${patient.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPatients(ExportFormat format, OutputStream output) throws IOException {
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output, objectMapper);
+        long[] rows = {0};
+        try {
+            writer.start();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            // Normalmente el cliente cortó la descarga: se cierra el cursor y se libera la conexión
+            logger.warn("⚠️ Exportación de pacientes interrumpida tras {} filas: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        logger.debug("📤 Exportadas {} filas de pacientes ({})", rows[0], format);
+        return rows[0];
+    }
+
+    // name es la cabecera de la exportación; column, la columna de la tabla si se llama distinto
+    private record Column(String name, String column, ColumnType type) {
+
+        Column(String name, ColumnType type) {
+            this(name, name, type);
+        }
+
+        String select() {
+            return name.equals(column) ? column : column + " AS " + name;
+        }
+    }
+
+    private enum ColumnType {
+        TEXT, UUID, DATE, TIMESTAMP, BOOLEAN, GENDER, BLOOD_TYPE;
+
+        // Valor textual de la columna (null si es NULL); los booleanos los escribe cada formato
+        String read(ResultSet rs, int index) throws SQLException {
+            switch (this) {
+                case UUID: {
+                    java.util.UUID value = rs.getObject(index, java.util.UUID.class);
+                    return value != null ? value.toString() : null;
+                }
+                case DATE: {
+                    LocalDate value = rs.getObject(index, LocalDate.class);
+                    return value != null ? value.toString() : null;
+                }
+                case TIMESTAMP: {
+                    LocalDateTime value = rs.getObject(index, LocalDateTime.class);
+                    return value != null ? value.toString() : null;
+                }
+                case BOOLEAN:
+                    return Boolean.toString(rs.getBoolean(index));
+                case GENDER: {
+                    short code = rs.getShort(index);
+                    return rs.wasNull() ? null : Gender.fromDbCode(code).getCode();
+                }
+                case BLOOD_TYPE: {
+                    short code = rs.getShort(index);
+                    return rs.wasNull() ? null : BloodType.fromDbCode(code).getCode();
+                }
+                default:
+                    return rs.getString(index);
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    /*
+     * CSV según RFC 4180: separador coma, fin de línea CRLF y comillas dobles solo en los campos
+     * que contienen coma, comillas o saltos de línea. NULL se escribe como campo vacío.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer out;
+
+        CsvRowWriter(OutputStream output) {
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+        }
+
+        @Override
+        public void start() throws IOException {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(COLUMNS.get(i).name());
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                String value = COLUMNS.get(i).type().read(rs, i + 1);
+                if (value != null) {
+                    writeField(value);
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(output)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // El fin de línea lo escribe write(); sin el espacio que Jackson pone entre valores raíz
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+            // NDJSON no tiene cabecera: cada línea es un objeto independiente
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                Column column = COLUMNS.get(i);
+                if (column.type() == ColumnType.BOOLEAN) {
+                    generator.writeBooleanField(column.name(), rs.getBoolean(i + 1));
+                } else {
+                    generator.writeStringField(column.name(), column.type().read(rs, i + 1));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.ms_cels.patient.service_impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ms_cels.patient.dto.BulkImportResult;
+import com.ms_cels.patient.dto.BulkImportSummary;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.event.PatientChangeType;
+import com.ms_cels.patient.event.PatientChangedEvent;
+import com.ms_cels.patient.service.PatientImportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de pacientes. Los registros se leen uno a uno del cuerpo de la petición,
+ * se validan y se persisten en bloques de {@code patient.bulk.chunk-size}, cada uno en su propia
+ * transacción para aprovechar el batching JDBC de Hibernate. Si un bloque falla, se reintenta
+ * registro por registro para que solo las filas inválidas queden rechazadas.
+ */
+@Service
+@Timed("patient.service")
+@RequiredArgsConstructor
+public class PatientImportServiceImpl implements PatientImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientImportServiceImpl.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${patient.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${patient.changes.write-timeout-seconds:10}")
+    private int writeTimeoutSeconds;
+
+    private TransactionTemplate chunkTransaction;
+
+    // Cada bloque respeta el mismo timeout que el resto de escrituras (ver TransactionTimestamp)
+    @PostConstruct
+    void initChunkTransaction() {
+        chunkTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        chunkTransaction.setTimeout(writeTimeoutSeconds);
+    }
+
+    @Override
+    public BulkImportSummary importPatients(InputStream input, boolean ndjson, ResultSink resultSink) throws IOException {
+        BulkImportSummary summary = new BulkImportSummary();
+        List<PendingRecord> chunk = new ArrayList<>(chunkSize);
+        Consumer<BulkImportResult> sink = result -> {
+            count(summary, result.getStatus());
+            resultSink.accept(result);
+        };
+
+        Consumer<ParsedRecord> handler = record -> {
+            summary.setReceived(summary.getReceived() + 1);
+            if (record.error() != null) {
+                sink.accept(invalid(record.index(), List.of(Map.of("campo", "registro", "mensaje", record.error()))));
+                return;
+            }
+            List<Map<String, String>> violations = validate(record.dto());
+            if (!violations.isEmpty()) {
+                sink.accept(invalid(record.index(), violations));
+                return;
+            }
+            chunk.add(new PendingRecord(record.index(), PatientServiceImpl.mapDtoToEntity(record.dto())));
+            if (chunk.size() >= chunkSize) {
+                persistChunk(chunk, sink);
+                chunk.clear();
+                resultSink.chunkCompleted();
+            }
+        };
+
+        if (ndjson) {
+            readNdjson(input, handler);
+        } else {
+            readJsonArray(input, handler);
+        }
+
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, sink);
+            resultSink.chunkCompleted();
+        }
+
+        logger.info("📦 Importación masiva finalizada: {} recibidos, {} creados, {} inválidos, {} fallidos",
+                summary.getReceived(), summary.getCreated(), summary.getInvalid(), summary.getFailed());
+        return summary;
+    }
+
+    // NDJSON: un error de formato solo invalida su línea y la lectura continúa
+    private void readNdjson(InputStream input, Consumer<ParsedRecord> handler) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(PatientDto.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long index = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                handler.accept(new ParsedRecord(index, reader.readValue(line), null));
+            } catch (JsonProcessingException e) {
+                handler.accept(new ParsedRecord(index, null, "JSON inválido: " + e.getOriginalMessage()));
+            }
+            index++;
+        }
+    }
+
+    // Arreglo JSON: se recorre elemento a elemento; un error de sintaxis corta la lectura
+    private void readJsonArray(InputStream input, Consumer<ParsedRecord> handler) throws IOException {
+        long index = 0;
+        try (MappingIterator<PatientDto> it = objectMapper.readerFor(PatientDto.class).readValues(input)) {
+            while (it.hasNextValue()) {
+                handler.accept(new ParsedRecord(index, it.nextValue(), null));
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            handler.accept(new ParsedRecord(index, null, "JSON inválido, se detiene la importación: " + e.getOriginalMessage()));
+        }
+    }
+
+    private void persistChunk(List<PendingRecord> chunk, Consumer<BulkImportResult> sink) {
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                chunk.forEach(pending -> entityManager.persist(pending.patient()));
+                entityManager.flush();
+                entityManager.clear();
+                chunk.forEach(pending -> eventPublisher.publishEvent(new PatientChangedEvent(pending.patient().getId(), PatientChangeType.CREATED)));
+            });
+            chunk.forEach(pending -> sink.accept(created(pending)));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Falló un bloque de {} registros, reintentando uno por uno", chunk.size());
+            chunk.forEach(pending -> persistSingle(pending, sink));
+        }
+    }
+
+    private void persistSingle(PendingRecord pending, Consumer<BulkImportResult> sink) {
+        // El id asignado en el intento fallido no se llegó a confirmar
+        pending.patient().setId(null);
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                entityManager.persist(pending.patient());
+                entityManager.flush();
+                entityManager.clear();
+                eventPublisher.publishEvent(new PatientChangedEvent(pending.patient().getId(), PatientChangeType.CREATED));
+            });
+            sink.accept(created(pending));
+        } catch (RuntimeException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            sink.accept(BulkImportResult.builder()
+                    .index(pending.index())
+                    .status(BulkImportResult.Status.FAILED)
+                    .errors(List.of(Map.of("campo", "registro",
+                            "mensaje", message != null ? message.split("\n")[0] : e.getClass().getSimpleName())))
+                    .build());
+        }
+    }
+
+    private List<Map<String, String>> validate(PatientDto dto) {
+        Set<ConstraintViolation<PatientDto>> violations = validator.validate(dto);
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> Map.of("campo", v.getPropertyPath().toString(), "mensaje", v.getMessage()))
+                .toList();
+    }
+
+    private static BulkImportResult created(PendingRecord pending) {
+        return BulkImportResult.builder()
+                .index(pending.index())
+                .status(BulkImportResult.Status.CREATED)
+                .id(pending.patient().getId())
+                .build();
+    }
+
+    private static BulkImportResult invalid(long index, List<Map<String, String>> errors) {
+        return BulkImportResult.builder()
+                .index(index)
+                .status(BulkImportResult.Status.INVALID)
+                .errors(errors)
+                .build();
+    }
+
+    private static void count(BulkImportSummary summary, BulkImportResult.Status status) {
+        switch (status) {
+            case CREATED -> summary.setCreated(summary.getCreated() + 1);
+            case INVALID -> summary.setInvalid(summary.getInvalid() + 1);
+            case FAILED -> summary.setFailed(summary.getFailed() + 1);
+        }
+    }
+
+    private record ParsedRecord(long index, PatientDto dto, String error) {
+    }
+
+    private record PendingRecord(long index, Patient patient) {
+    }
+}
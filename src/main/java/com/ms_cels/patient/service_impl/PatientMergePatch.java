@@ -0,0 +1,114 @@
+package com.ms_cels.patient.service_impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.entity.BloodType;
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Aplica un JSON Merge Patch (RFC 7396) sobre un {@link Patient} gestionado, campo por campo.
+ * Solo se asignan los atributos cuyo valor realmente cambia, de modo que con {@code @DynamicUpdate}
+ * el UPDATE incluye únicamente esas columnas (o no se emite si no hubo cambios).
+ */
+final class PatientMergePatch {
+
+    private static final Map<String, Field<?>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        string("firstName", Patient::getFirstName, Patient::setFirstName);
+        string("lastName", Patient::getLastName, Patient::setLastName);
+        field("birthDate", LocalDate.class, Patient::getBirthDate, Patient::setBirthDate);
+        field("gender", Gender.class, Patient::getGender, Patient::setGender);
+        field("bloodType", BloodType.class, Patient::getBloodType, Patient::setBloodType);
+        string("phone", Patient::getPhone, Patient::setPhone);
+        string("email", Patient::getEmail, Patient::setEmail);
+        string("address", Patient::getAddress, Patient::setAddress);
+        string("city", Patient::getCity, Patient::setCity);
+        string("country", Patient::getCountry, Patient::setCountry);
+        string("postalCode", Patient::getPostalCode, Patient::setPostalCode);
+        string("emergencyContactName", Patient::getEmergencyContactName, Patient::setEmergencyContactName);
+        string("emergencyContactPhone", Patient::getEmergencyContactPhone, Patient::setEmergencyContactPhone);
+        string("emergencyContactName2", Patient::getEmergencyContactName2, Patient::setEmergencyContactName2);
+        string("emergencyContactPhone2", Patient::getEmergencyContactPhone2, Patient::setEmergencyContactPhone2);
+        string("emergencyContactName3", Patient::getEmergencyContactName3, Patient::setEmergencyContactName3);
+        string("emergencyContactPhone3", Patient::getEmergencyContactPhone3, Patient::setEmergencyContactPhone3);
+        string("medicalHistory", Patient::getMedicalHistory, Patient::setMedicalHistory);
+        string("allergies", Patient::getAllergies, Patient::setAllergies);
+        string("insuranceProvider", Patient::getInsuranceProvider, Patient::setInsuranceProvider);
+        string("insuranceNumber", Patient::getInsuranceNumber, Patient::setInsuranceNumber);
+        flag("active", Patient::isActive, Patient::setActive);
+    }
+
+    private PatientMergePatch() {
+    }
+
+    /**
+     * @return nombres de los campos que cambiaron (vacío si el patch no produce cambios)
+     */
+    static List<String> apply(Patient patient, JsonNode patch, ObjectMapper objectMapper) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("El cuerpo del PATCH debe ser un objeto JSON (application/merge-patch+json).");
+        }
+
+        List<String> changed = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> entries = patch.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            Field<?> field = FIELDS.get(entry.getKey());
+            if (field == null) {
+                throw new BadRequestException("El campo '" + entry.getKey() + "' no existe o no se puede modificar.");
+            }
+            if (field.apply(patient, entry.getValue(), objectMapper)) {
+                changed.add(entry.getKey());
+            }
+        }
+        return changed;
+    }
+
+    private static void string(String name, Function<Patient, String> getter, BiConsumer<Patient, String> setter) {
+        field(name, String.class, getter, setter);
+    }
+
+    private static <T> void field(String name, Class<T> type, Function<Patient, T> getter, BiConsumer<Patient, T> setter) {
+        FIELDS.put(name, new Field<>(name, type, getter, setter, true));
+    }
+
+    // Columnas NOT NULL: en Merge Patch null significaría borrarlas, lo que no está permitido
+    private static void flag(String name, Function<Patient, Boolean> getter, BiConsumer<Patient, Boolean> setter) {
+        FIELDS.put(name, new Field<>(name, Boolean.class, getter, setter, false));
+    }
+
+    private record Field<T>(String name, Class<T> type, Function<Patient, T> getter, BiConsumer<Patient, T> setter,
+                            boolean nullable) {
+
+        boolean apply(Patient patient, JsonNode node, ObjectMapper objectMapper) {
+            if (node.isNull() && !nullable) {
+                throw new BadRequestException("El campo '" + name + "' no admite null.");
+            }
+            T value;
+            try {
+                // En Merge Patch, null significa "borrar el valor"
+                value = node.isNull() ? null : objectMapper.treeToValue(node, type);
+            } catch (Exception e) {
+                throw new BadRequestException("Valor inválido para el campo '" + name + "'.");
+            }
+            if (Objects.equals(getter.apply(patient), value)) {
+                return false;
+            }
+            setter.accept(patient, value);
+            return true;
+        }
+    }
+}
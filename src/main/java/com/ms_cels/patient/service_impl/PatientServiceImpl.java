@@ -1,31 +1,126 @@
 package com.ms_cels.patient.service_impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.config.CacheConfig;
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientChange;
+import com.ms_cels.patient.dto.PatientChangeView;
+import com.ms_cels.patient.dto.PatientClinicalDto;
 import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientLookupResult;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.dto.PatientSummaryView;
+import com.ms_cels.patient.entity.BloodType;
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.datasource.RecentWrites;
+import com.ms_cels.patient.datasource.ReplicaRoutingContext;
 import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.entity.seq.TransactionTimestamp;
+import com.ms_cels.patient.event.PatientChangeType;
+import com.ms_cels.patient.event.PatientChangedEvent;
 import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.exception.PreconditionFailedException;
 import com.ms_cels.patient.exception.ResourceNotFoundException;
 import com.ms_cels.patient.repository.PatientRepository;
 import com.ms_cels.patient.service.PatientService;
+import com.ms_cels.patient.util.BirthDateCursor;
+import com.ms_cels.patient.util.ChangeCursor;
+import com.ms_cels.patient.util.PatientCursor;
+import com.ms_cels.patient.util.PatientLoadKey;
+import com.ms_cels.patient.util.SingleFlight;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import java.util.UUID;
 
 @Service
+@Timed("patient.service")
 @RequiredArgsConstructor
+@Transactional(readOnly = true) // Lecturas sin snapshots de dirty-checking ni flush; las escrituras lo sobrescriben
 public class PatientServiceImpl implements PatientService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PatientServiceImpl.class);
+
     private final PatientRepository patientRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final SingleFlight<PatientLoadKey, Patient> patientLoads;
+    private final PlatformTransactionManager transactionManager;
+    private final RecentWrites recentWrites;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    // Límite inferior cuando solo se acota por arriba; LocalDate.MIN no es representable en SQL
+    private static final LocalDate EARLIEST_BIRTH_DATE = LocalDate.of(1, 1, 1);
+
+    @Value("${patient.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${patient.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${patient.lookup.max-ids:1000}")
+    private int maxLookupIds;
+
+    @Value("${patient.lookup.chunk-size:200}")
+    private int lookupChunkSize;
+
+    @Value("${patient.changes.settle-ms:15000}")
+    private long changesSettleMillis;
+
+    @Value("${patient.changes.write-timeout-seconds:10}")
+    private long writeTimeoutSeconds;
+
+    @PostConstruct
+    void initReadOnlyTransaction() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        if (changesSettleMillis <= writeTimeoutSeconds * 1000) {
+            logger.warn("⚠️ patient.changes.settle-ms ({}) no supera el timeout de escritura ({} s): "
+                    + "el feed de cambios puede saltarse transacciones lentas", changesSettleMillis, writeTimeoutSeconds);
+        }
+    }
 
     @Override
+    @Transactional(timeoutString = TransactionTimestamp.WRITE_TIMEOUT)
     public Patient addPatient(PatientDto patientDto) {
-        System.out.println("📌 Recibiendo DTO: " + patientDto);
-        System.out.println("📌 firstName: " + patientDto.getFirstName());
-        System.out.println("📌 lastName: " + patientDto.getLastName());
-        System.out.println("📌 Fecha de nacimiento en DTO: " + patientDto.getBirthDate());
+        logger.debug("📌 Registrando paciente");
 
         // Ruta alternativa para depurar: saltarse la validación
         Patient patient = new Patient();
@@ -34,9 +129,8 @@ public class PatientServiceImpl implements PatientService {
         patient.setEmail(patientDto.getEmail());
         patient.setPhone(patientDto.getPhone());
         patient.setBirthDate(patientDto.getBirthDate());
-        patient.setDateBirth(patientDto.getBirthDate());
-        patient.setGender(patientDto.getGender());
-        patient.setBloodType(patientDto.getBloodType());
+        patient.setGender(Gender.fromCode(patientDto.getGender()));
+        patient.setBloodType(BloodType.fromCode(patientDto.getBloodType()));
         patient.setAddress(patientDto.getAddress());
         patient.setCity(patientDto.getCity());
         patient.setCountry(patientDto.getCountry());
@@ -52,78 +146,354 @@ public class PatientServiceImpl implements PatientService {
         patient.setInsuranceProvider(patientDto.getInsuranceProvider());
         patient.setInsuranceNumber(patientDto.getInsuranceNumber());
         patient.setRegistrationDate(LocalDateTime.now());
-        patient.setUpdatedAt(LocalDateTime.now());
         patient.setActive(patientDto.isActive());
         patient.setStatus(true);
 
         try {
-            return patientRepository.save(patient);
+            Patient saved = patientRepository.save(patient);
+            eventPublisher.publishEvent(new PatientChangedEvent(saved.getId(), PatientChangeType.CREATED));
+            logger.info("✅ Paciente registrado: {}", saved.getId());
+            return saved;
         } catch (Exception e) {
-            System.out.println("❌ Error al guardar: " + e.getMessage().split("\n")[0]);
-            //e.printStackTrace();
+            logger.warn("❌ Error al guardar: {}", e.getMessage().split("\n")[0]);
             throw e;
         }
     }
 
     @Override
-    public Patient updatePatient(UUID id, PatientDto patientDto) {
-        System.out.println("✅ Actualizando registro.");
+    @Transactional(timeoutString = TransactionTimestamp.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public Patient updatePatient(UUID id, PatientDto patientDto, Long expectedVersion) {
+        logger.debug("✅ Actualizando paciente {}", id);
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con id: " + id));
+        checkVersion(patient, expectedVersion);
 
-        patient.setFirstName(patientDto.getFirstName());
-        patient.setLastName(patientDto.getLastName());
-        patient.setEmail(patientDto.getEmail());
-        patient.setPhone(patientDto.getPhone());
-        patient.setBirthDate(patientDto.getBirthDate());
-        patient.setDateBirth(patientDto.getBirthDate()); // Actualizar también dateBirth
-        patient.setGender(patientDto.getGender());
-        patient.setBloodType(patientDto.getBloodType());
-        patient.setAddress(patientDto.getAddress());
-        patient.setCity(patientDto.getCity());
-        patient.setCountry(patientDto.getCountry());
-        patient.setPostalCode(patientDto.getPostalCode()); // Añadir código postal
-        patient.setEmergencyContactName(patientDto.getEmergencyContactName());
-        patient.setEmergencyContactPhone(patientDto.getEmergencyContactPhone());
-        patient.setEmergencyContactName2(patientDto.getEmergencyContactName2());
-        patient.setEmergencyContactPhone2(patientDto.getEmergencyContactPhone2());
-        patient.setEmergencyContactName3(patientDto.getEmergencyContactName3());
-        patient.setEmergencyContactPhone3(patientDto.getEmergencyContactPhone3());
-        patient.setMedicalHistory(patientDto.getMedicalHistory());
-        patient.setAllergies(patientDto.getAllergies());
-        patient.setInsuranceProvider(patientDto.getInsuranceProvider());
-        patient.setInsuranceNumber(patientDto.getInsuranceNumber());
-        patient.setActive(patientDto.isActive());
-        patient.setStatus(true); // Asegurar que status está establecido
-        patient.setUpdatedAt(LocalDateTime.now());
+        // Como en patchPatient, solo se asigna lo que cambia: un PUT idéntico no publica ningún evento
+        boolean changed = assign(patient.getFirstName(), patientDto.getFirstName(), patient::setFirstName);
+        changed |= assign(patient.getLastName(), patientDto.getLastName(), patient::setLastName);
+        changed |= assign(patient.getEmail(), patientDto.getEmail(), patient::setEmail);
+        changed |= assign(patient.getPhone(), patientDto.getPhone(), patient::setPhone);
+        changed |= assign(patient.getBirthDate(), patientDto.getBirthDate(), patient::setBirthDate);
+        changed |= assign(patient.getGender(), Gender.fromCode(patientDto.getGender()), patient::setGender);
+        changed |= assign(patient.getBloodType(), BloodType.fromCode(patientDto.getBloodType()), patient::setBloodType);
+        changed |= assign(patient.getAddress(), patientDto.getAddress(), patient::setAddress);
+        changed |= assign(patient.getCity(), patientDto.getCity(), patient::setCity);
+        changed |= assign(patient.getCountry(), patientDto.getCountry(), patient::setCountry);
+        changed |= assign(patient.getPostalCode(), patientDto.getPostalCode(), patient::setPostalCode);
+        changed |= assign(patient.getEmergencyContactName(), patientDto.getEmergencyContactName(), patient::setEmergencyContactName);
+        changed |= assign(patient.getEmergencyContactPhone(), patientDto.getEmergencyContactPhone(), patient::setEmergencyContactPhone);
+        changed |= assign(patient.getEmergencyContactName2(), patientDto.getEmergencyContactName2(), patient::setEmergencyContactName2);
+        changed |= assign(patient.getEmergencyContactPhone2(), patientDto.getEmergencyContactPhone2(), patient::setEmergencyContactPhone2);
+        changed |= assign(patient.getEmergencyContactName3(), patientDto.getEmergencyContactName3(), patient::setEmergencyContactName3);
+        changed |= assign(patient.getEmergencyContactPhone3(), patientDto.getEmergencyContactPhone3(), patient::setEmergencyContactPhone3);
+        changed |= assign(patient.getMedicalHistory(), patientDto.getMedicalHistory(), patient::setMedicalHistory);
+        changed |= assign(patient.getAllergies(), patientDto.getAllergies(), patient::setAllergies);
+        changed |= assign(patient.getInsuranceProvider(), patientDto.getInsuranceProvider(), patient::setInsuranceProvider);
+        changed |= assign(patient.getInsuranceNumber(), patientDto.getInsuranceNumber(), patient::setInsuranceNumber);
+        changed |= assign(patient.isActive(), patientDto.isActive(), patient::setActive);
+        changed |= assign(patient.isStatus(), true, patient::setStatus); // Asegurar que status está establecido
+        if (changed) {
+            eventPublisher.publishEvent(new PatientChangedEvent(id, PatientChangeType.UPDATED));
+        }
 
-        return patientRepository.save(patient);
+        // La entidad está gestionada: al confirmar, Hibernate emite un UPDATE solo con las
+        // columnas modificadas (@DynamicUpdate) y ninguno si no cambió nada; updatedAt y
+        // changeSeq solo se generan cuando hay UPDATE.
+        return patient;
     }
 
     @Override
-    public void deletePatient(UUID id) {
-        System.out.println("❌ Eliminando registro.");
+    @Transactional(timeoutString = TransactionTimestamp.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public Patient patchPatient(UUID id, JsonNode patch, Long expectedVersion) {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con id: " + id));
+        checkVersion(patient, expectedVersion);
+
+        List<String> changed = PatientMergePatch.apply(patient, patch, objectMapper);
+        if (!changed.isEmpty()) {
+            Set<ConstraintViolation<Patient>> violations = validator.validate(patient);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            eventPublisher.publishEvent(new PatientChangedEvent(id, PatientChangeType.UPDATED));
+        }
+        // Sin cambios reales la entidad no queda sucia y no se emite ningún UPDATE.
+        // La respuesta incluye los datos clínicos aunque el patch no los haya tocado.
+        initializeClinicalData(patient);
+        return patient;
+    }
 
-        patient.setActive(false);
-        patientRepository.save(patient);
+    @Override
+    @Transactional(timeoutString = TransactionTimestamp.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public void deletePatient(UUID id) {
+        logger.debug("❌ Desactivando paciente {}", id);
+        changeActive(id, false);
     }
 
     @Override
+    @Transactional(timeoutString = TransactionTimestamp.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
+    public void reactivatePatient(UUID id) {
+        changeActive(id, true);
+    }
+
+    // medicalHistory/allergies son lazy (mismo grupo): leer uno carga ambos en un solo SELECT
+    private static void initializeClinicalData(Patient patient) {
+        patient.getMedicalHistory();
+    }
+
+    // Asigna el valor solo si es distinto del actual; devuelve si hubo cambio
+    private static <T> boolean assign(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    // If-Match: la versión leída debe coincidir con la que el cliente modificó. Si otra escritura
+    // concurrente gana después de esta lectura, @Version lo detecta al hacer flush.
+    private void checkVersion(Patient patient, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(patient.getVersion())) {
+            throw new PreconditionFailedException("El paciente fue modificado por otra solicitud (versión actual: "
+                    + patient.getVersion() + ").");
+        }
+    }
+
+    // Un solo UPDATE condicional; solo si no afecta filas se consulta si el paciente existe
+    // (ya estaba en el estado pedido → operación idempotente; no existe → 404)
+    private void changeActive(UUID id, boolean active) {
+        int updated = patientRepository.updateActive(id, active);
+        if (updated == 0 && !patientRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Paciente no encontrado con id: " + id);
+        }
+        if (updated > 0) {
+            eventPublisher.publishEvent(new PatientChangedEvent(id,
+                    active ? PatientChangeType.REACTIVATED : PatientChangeType.DEACTIVATED));
+        }
+    }
+
+    /*
+     * Sin transacción propia: las peticiones concurrentes que fallan en la caché se agrupan en
+     * patientLoads y solo la líder abre la transacción (y ocupa una conexión del pool) para leer.
+     * sync=false: con sync=true la caché ya serializa las cargas por clave, pero bloqueando dentro
+     * de Caffeine, sin métricas y sin compartir los 404.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Cacheable(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id")
     public Patient getPatient(UUID id) {
-        System.out.println(" ✅  Consultando registro de Paciente.");
-        return patientRepository.findById(id)
+        Supplier<Patient> load = () -> readOnlyTransaction.execute(status -> loadPatient(id));
+        // Con réplicas, recién modificado (o petición ya fijada al primario) => del primario, para no
+        // volver a cachear la versión anterior; la clave evita unirse a una carga en curso desde réplica
+        boolean primary = ReplicaRoutingContext.isPrimaryForced() || recentWrites.contains(id);
+        return patientLoads.execute(new PatientLoadKey(id, primary),
+                primary ? () -> ReplicaRoutingContext.onPrimary(load) : load);
+    }
+
+    private Patient loadPatient(UUID id) {
+        logger.debug("✅ Consultando paciente {}", id);
+        // La entidad se cachea y se serializa fuera de la transacción: se lee completa en un solo SELECT
+        return patientRepository.findCompleteById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con id: " + id));
     }
 
     @Override
-    public List<Patient> getAllPatients() {
-        System.out.println(" ✅  Consultando Listado de registro de Pacientes.");
-        return patientRepository.findByActiveTrue();
+    public PatientLookupResult getPatients(Collection<UUID> ids) {
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un id de paciente.");
+        }
+        if (requested.size() > maxLookupIds) {
+            throw new BadRequestException("Se admiten como máximo " + maxLookupIds + " ids por consulta.");
+        }
+
+        // Primero la caché por id que también usa getPatient; solo los fallos van a la base de datos
+        Cache cache = cacheManager.getCache(CacheConfig.PATIENTS_CACHE);
+        Map<UUID, PatientSummary> byId = new HashMap<>(requested.size() * 2);
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : requested) {
+            Patient cached = cache != null ? cache.get(id, Patient.class) : null;
+            if (cached != null) {
+                byId.put(id, PatientSummaryView.of(cached));
+            } else {
+                misses.add(id);
+            }
+        }
+
+        // Con réplicas, un lote con algún paciente recién modificado se lee del primario (RecentWrites)
+        if (!misses.isEmpty()) {
+            byId.putAll(misses.stream().anyMatch(recentWrites::contains)
+                    ? ReplicaRoutingContext.onPrimary(() -> loadMisses(misses))
+                    : loadMisses(misses));
+        }
+
+        List<PatientSummary> found = new ArrayList<>(byId.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : requested) {
+            PatientSummary patient = byId.get(id);
+            if (patient != null) {
+                found.add(patient);
+            } else {
+                missing.add(id);
+            }
+        }
+        logger.debug("✅ Consulta por lotes: {} solicitados, {} desde caché, {} no encontrados",
+                requested.size(), requested.size() - misses.size(), missing.size());
+        return new PatientLookupResult(found, missing);
+    }
+
+    @Override
+    public PatientClinicalDto getClinicalData(UUID id) {
+        return patientRepository.findClinicalById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con id: " + id));
+    }
+
+    // IN por bloques: acota el número de parámetros por sentencia con listas muy grandes. Solo la
+    // proyección de resumen: el grupo clínico queda detrás de /{id}/clinical
+    private Map<UUID, PatientSummary> loadMisses(List<UUID> misses) {
+        Map<UUID, PatientSummary> byId = new HashMap<>(misses.size() * 2);
+        for (int from = 0; from < misses.size(); from += lookupChunkSize) {
+            List<UUID> chunk = misses.subList(from, Math.min(from + lookupChunkSize, misses.size()));
+            for (PatientSummary summary : patientRepository.findSummaryByIdIn(chunk)) {
+                byId.put(summary.getId(), summary);
+            }
+        }
+        return byId;
+    }
+
+    @Override
+    public PatientSummary getPatientSummary(UUID id) {
+        return patientRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con id: " + id));
+    }
+
+    @Override
+    public CursorPage<PatientSummary> getAllPatients(String cursor, Integer size) {
+        logger.debug("✅ Consultando listado de pacientes");
+        int pageSize = resolvePageSize(size);
+        Pageable pageable = PageRequest.of(0, pageSize);
+
+        Slice<PatientSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = patientRepository.findActiveFirstPage(pageable);
+        } else {
+            PatientCursor after = PatientCursor.decode(cursor);
+            slice = patientRepository.findActiveAfter(after.registrationDate(), after.id(), pageable);
+        }
+
+        List<PatientSummary> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            PatientSummary last = content.get(content.size() - 1);
+            nextCursor = new PatientCursor(last.getRegistrationDate(), last.getId()).encode();
+        }
+
+        return CursorPage.<PatientSummary>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public CursorPage<PatientSummary> getPatientsByBirthRange(LocalDate bornFrom, LocalDate bornTo,
+                                                              Integer minAge, Integer maxAge, String city,
+                                                              String cursor, Integer size) {
+        if (bornFrom == null && bornTo == null && minAge == null && maxAge == null) {
+            throw new BadRequestException("Debe indicar un rango de fechas de nacimiento o de edades.");
+        }
+        if ((minAge != null && minAge < 0) || (maxAge != null && maxAge < 0)) {
+            throw new BadRequestException("La edad no puede ser negativa.");
+        }
+
+        // Edad N..M cumplida hoy: nacidos en (hoy - (M + 1) años, hoy - N años]
+        LocalDate today = LocalDate.now();
+        LocalDate from = bornFrom;
+        LocalDate to = bornTo != null ? bornTo : today;
+        if (maxAge != null) {
+            LocalDate ageFrom = today.minusYears(maxAge + 1L).plusDays(1);
+            from = from == null || ageFrom.isAfter(from) ? ageFrom : from;
+        }
+        if (minAge != null) {
+            LocalDate ageTo = today.minusYears(minAge);
+            to = ageTo.isBefore(to) ? ageTo : to;
+        }
+        if (from == null) {
+            from = EARLIEST_BIRTH_DATE;
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("El rango de nacimiento está vacío: el inicio es posterior al fin.");
+        }
+
+        // Un cursor anterior al inicio del rango (p. ej. de otra consulta) no debe ampliarlo
+        BirthDateCursor after = cursor == null || cursor.isBlank()
+                ? BirthDateCursor.startingAt(from)
+                : BirthDateCursor.decode(cursor);
+        if (after.birthDate().isBefore(from)) {
+            after = BirthDateCursor.startingAt(from);
+        }
+        Pageable pageable = PageRequest.of(0, resolvePageSize(size));
+        Slice<PatientSummary> slice = city == null || city.isBlank()
+                ? patientRepository.findActiveBornAfter(after.birthDate(), after.id(), to, pageable)
+                : patientRepository.findActiveBornAfterInCity(after.birthDate(), after.id(), to, city.trim(), pageable);
+
+        List<PatientSummary> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            PatientSummary last = content.get(content.size() - 1);
+            nextCursor = new BirthDateCursor(last.getBirthDate(), last.getId()).encode();
+        }
+
+        return CursorPage.<PatientSummary>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /*
+     * updatedAt es la hora de la base de datos al empezar la transacción que escribe, y ninguna
+     * transacción de escritura dura más que patient.changes.write-timeout-seconds: pasado ese
+     * plazo, toda fila con un updatedAt anterior ya está confirmada (o descartada). Por eso el feed
+     * solo llega hasta "hora de la base de datos - settle", con settle mayor que ese timeout, y se
+     * lee del primario: una réplica con retraso aún podría no tener esas filas.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<PatientChange> getChanges(String since, Integer size) {
+        ChangeCursor after = ChangeCursor.fromSince(since);
+        Slice<PatientChangeView> slice = ReplicaRoutingContext.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            LocalDateTime until = patientRepository.currentTimestamp().minusNanos(changesSettleMillis * 1_000_000L);
+            return patientRepository.findChangesAfter(
+                    after.updatedAt(), after.changeSeq(), until, PageRequest.of(0, resolvePageSize(size)));
+        }));
+
+        List<PatientChange> content = slice.getContent().stream().map(PatientChange::of).toList();
+        // A diferencia de los listados, la marca de agua se devuelve siempre: es el since del siguiente sondeo
+        ChangeCursor watermark = content.isEmpty()
+                ? after
+                : new ChangeCursor(content.get(content.size() - 1).updatedAt(), content.get(content.size() - 1).changeSeq());
+
+        return CursorPage.<PatientChange>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(watermark.encode())
+                .build();
+    }
+
+    private int resolvePageSize(Integer requested) {
+        return CursorPage.resolvePageSize(requested, defaultPageSize, maxPageSize);
     }
 
-    private Patient mapDtoToEntity(PatientDto dto) {
+    // Compartido con la importación masiva (PatientImportServiceImpl)
+    static Patient mapDtoToEntity(PatientDto dto) {
         if (dto.getBirthDate() == null) {
             throw new BadRequestException("Error: La fecha de nacimiento es nula.");
         }
@@ -133,9 +503,8 @@ public class PatientServiceImpl implements PatientService {
                 .email(dto.getEmail())
                 .phone(dto.getPhone())
                 .birthDate(dto.getBirthDate())
-                .dateBirth(dto.getBirthDate()) // También establecer dateBirth
-                .gender(dto.getGender())
-                .bloodType(dto.getBloodType())
+                .gender(Gender.fromCode(dto.getGender()))
+                .bloodType(BloodType.fromCode(dto.getBloodType()))
                 .address(dto.getAddress())
                 .city(dto.getCity())
                 .country(dto.getCountry())
@@ -151,7 +520,6 @@ public class PatientServiceImpl implements PatientService {
                 .insuranceProvider(dto.getInsuranceProvider())
                 .insuranceNumber(dto.getInsuranceNumber())
                 .registrationDate(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
                 .active(dto.isActive())
                 .status(true) // Añadir status como true por defecto
                 .build();
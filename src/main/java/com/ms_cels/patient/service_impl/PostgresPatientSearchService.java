@@ -0,0 +1,98 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientSearchCriteria;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.dto.PatientSummaryView;
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.util.SearchCursor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Búsqueda sobre Postgres con índices de trigramas (pg_trgm) sobre el nombre normalizado sin
+ * acentos (unaccent). Las funciones e índices los crea Flyway (V6__patient_search_functions,
+ * V6_1..V6_4 y SearchIndexCallback), no el arranque de cada instancia.
+ */
+@Service
+@Timed("patient.service")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "patient.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresPatientSearchService extends AbstractPatientSearchService {
+
+    private static final String SELECT = "SELECT id, first_name, last_name, email, phone, birth_date, gender_code, " +
+            "city, country, active, registration_date FROM patients WHERE active = true";
+
+    private static final RowMapper<PatientSummary> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp registration = rs.getTimestamp("registration_date");
+        return PatientSummaryView.builder()
+                .id(rs.getObject("id", UUID.class))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .email(rs.getString("email"))
+                .phone(rs.getString("phone"))
+                .birthDate(rs.getObject("birth_date", LocalDate.class))
+                .gender(Gender.fromDbCode(rs.getShort("gender_code")))
+                .city(rs.getString("city"))
+                .country(rs.getString("country"))
+                .active(rs.getBoolean("active"))
+                .registrationDate(registration != null ? registration.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Transacción de solo lectura para que, con réplicas configuradas, la búsqueda no cargue al primario
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PatientSummary> search(String query, String city, String country, String cursor, Integer size) {
+        return super.search(query, city, country, cursor, size);
+    }
+
+    @Override
+    protected List<PatientSummary> fetch(PatientSearchCriteria criteria, SearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        // Cada término debe ser prefijo de alguna palabra: ' ana maria perez' LIKE '% mar%'
+        List<String> terms = criteria.getNameTerms();
+        for (int i = 0; i < terms.size(); i++) {
+            sql.append(" AND public.patient_search_name(first_name, last_name) LIKE :term").append(i);
+            params.addValue("term" + i, "% " + escapeLike(terms.get(i)) + "%");
+        }
+        if (criteria.getCity() != null) {
+            sql.append(" AND public.patient_unaccent(city) = :city");
+            params.addValue("city", criteria.getCity());
+        }
+        if (criteria.getCountry() != null) {
+            sql.append(" AND public.patient_unaccent(country) = :country");
+            params.addValue("country", criteria.getCountry());
+        }
+        // Keyset: la comparación de filas usa el mismo orden (y collation) que el ORDER BY
+        if (after != null) {
+            sql.append(" AND (last_name, first_name, id) > (:afterLastName, :afterFirstName, :afterId)");
+            params.addValue("afterLastName", after.lastName());
+            params.addValue("afterFirstName", after.firstName());
+            params.addValue("afterId", after.id());
+        }
+        sql.append(" ORDER BY last_name, first_name, id LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,45 @@
+package com.ms_cels.patient.util;
+
+import com.ms_cels.patient.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco para la paginación keyset de las consultas por rango de nacimiento, sobre
+ * (birthDate, id). Mismo formato que {@link PatientCursor}.
+ */
+public record BirthDateCursor(LocalDate birthDate, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    // UUID mínimo: con él la primera página incluye a todos los nacidos en la fecha inicial
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    public static BirthDateCursor startingAt(LocalDate birthDate) {
+        return new BirthDateCursor(birthDate, MIN_ID);
+    }
+
+    public String encode() {
+        String raw = birthDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BirthDateCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new BadRequestException("El cursor de paginación no es válido.");
+            }
+            return new BirthDateCursor(
+                    LocalDate.parse(raw.substring(0, idx)),
+                    UUID.fromString(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("El cursor de paginación no es válido.");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ms_cels.patient.util;
+
+import com.ms_cels.patient.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Marca de agua del feed de cambios sobre (updatedAt, changeSeq). Mismo formato opaco que
+ * {@link PatientCursor}; el feed siempre devuelve la siguiente para que el consumidor la guarde.
+ */
+public record ChangeCursor(LocalDateTime updatedAt, long changeSeq) {
+
+    private static final char SEPARATOR = '|';
+
+    // Antes de cualquier cambio; LocalDateTime.MIN no es representable en SQL
+    public static final ChangeCursor BEGINNING = startingAt(LocalDateTime.of(1, 1, 1, 0, 0));
+
+    // changeSeq mínimo: con él se incluyen todos los cambios del instante indicado
+    public static ChangeCursor startingAt(LocalDateTime updatedAt) {
+        return new ChangeCursor(updatedAt, Long.MIN_VALUE);
+    }
+
+    /*
+     * El parámetro since acepta la marca de agua devuelta por el feed o, para la primera
+     * sincronización, una fecha (yyyy-MM-dd) o fecha-hora ISO-8601 local (incluida).
+     */
+    public static ChangeCursor fromSince(String since) {
+        if (since == null || since.isBlank()) {
+            return BEGINNING;
+        }
+        String value = since.trim();
+        try {
+            return value.indexOf('T') > 0
+                    ? startingAt(LocalDateTime.parse(value))
+                    : startingAt(LocalDate.parse(value).atStartOfDay());
+        } catch (DateTimeParseException e) {
+            return decode(value);
+        }
+    }
+
+    public String encode() {
+        String raw = updatedAt.toString() + SEPARATOR + changeSeq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new BadRequestException("La marca de agua del feed de cambios no es válida.");
+            }
+            return new ChangeCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("La marca de agua del feed de cambios no es válida.");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ms_cels.patient.util;
+
+import com.ms_cels.patient.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco para la paginación keyset sobre (registrationDate, id).
+ * El cliente solo ve un token Base64 URL-safe; el formato interno puede cambiar sin romper la API.
+ */
+public record PatientCursor(LocalDateTime registrationDate, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = registrationDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PatientCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new BadRequestException("El cursor de paginación no es válido.");
+            }
+            return new PatientCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    UUID.fromString(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("El cursor de paginación no es válido.");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ms_cels.patient.util;
+
+import java.util.UUID;
+
+/**
+ * Clave de las cargas agrupadas de un paciente: una carga que debe leer del primario
+ * (read-your-writes) nunca se une a otra en curso contra una réplica, que podría devolver la
+ * versión anterior a la escritura.
+ */
+public record PatientLoadKey(UUID id, boolean primary) {
+}
@@ -0,0 +1,35 @@
+package com.ms_cels.patient.util;
+
+import com.ms_cels.patient.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco de la búsqueda: paginación keyset sobre (lastName, firstName, id), el mismo orden
+ * de los resultados. Cuesta lo mismo llegar a la página 1000 que a la primera.
+ */
+public record SearchCursor(String lastName, String firstName, UUID id) {
+
+    // Los nombres pueden contener cualquier carácter salvo NUL, que Postgres no admite en text
+    private static final char SEPARATOR = '\0';
+
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("El cursor de búsqueda no es válido.");
+            }
+            return new SearchCursor(parts[0], parts[1], UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("El cursor de búsqueda no es válido.");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.ms_cels.patient.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa ejecuciones concurrentes para la misma clave ("single-flight"): la primera petición
+ * (líder) ejecuta la carga y las que llegan mientras sigue en curso esperan su resultado, incluida
+ * la excepción si falla. Una ráfaga de N lecturas del mismo paciente se convierte en una consulta.
+ * <p>
+ * No es una caché: la entrada desaparece en cuanto termina la carga. El mapa de cargas en curso
+ * está acotado; al alcanzar el límite las peticiones nuevas se ejecutan sin agrupar en lugar de
+ * esperar, para que una ráfaga de claves distintas no haga crecer la memoria sin control.
+ * <p>
+ * Métricas: {@code <name>.calls} con {@code result=leader|coalesced|bypassed}, el gauge
+ * {@code <name>.in_flight} y el timer {@code <name>.duration} ({@code result=success|failure}) con
+ * la duración de cada carga ejecutada (líder o sin agrupar); las peticiones agrupadas no cuentan.
+ */
+public final class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final int maxInFlight;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    private volatile Timer loadSuccess;
+    private volatile Timer loadFailure;
+
+    public SingleFlight(String name, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight debe ser mayor que cero");
+        }
+        this.name = name;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing == null) {
+            // Límite aproximado (size() no es atómico con putIfAbsent); basta para acotar la memoria
+            if (inFlight.size() >= maxInFlight) {
+                bypassed.increment();
+                return load(loader);
+            }
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            existing = inFlight.putIfAbsent(key, mine);
+            if (existing == null) {
+                return lead(key, mine, loader);
+            }
+        }
+        coalesced.increment();
+        return await(existing);
+    }
+
+    private V lead(K key, CompletableFuture<V> mine, Supplier<V> loader) {
+        leaders.increment();
+        try {
+            V value = load(loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V load(Supplier<V> loader) {
+        long start = System.nanoTime();
+        Timer timer = loadFailure;
+        try {
+            V value = loader.get();
+            timer = loadSuccess;
+            return value;
+        } finally {
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    // Propaga la misma excepción que recibió el líder, sin el envoltorio de CompletableFuture
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long bypassedCount() {
+        return bypassed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(name + ".calls", leaders, LongAdder::sum)
+                .tag("result", "leader")
+                .description("Cargas ejecutadas por la petición líder")
+                .register(registry);
+        FunctionCounter.builder(name + ".calls", coalesced, LongAdder::sum)
+                .tag("result", "coalesced")
+                .description("Peticiones que reutilizaron una carga en curso")
+                .register(registry);
+        FunctionCounter.builder(name + ".calls", bypassed, LongAdder::sum)
+                .tag("result", "bypassed")
+                .description("Peticiones ejecutadas sin agrupar por alcanzar el límite de cargas en curso")
+                .register(registry);
+        Gauge.builder(name + ".in_flight", inFlight, ConcurrentHashMap::size)
+                .description("Cargas en curso")
+                .register(registry);
+        loadSuccess = Timer.builder(name + ".duration")
+                .tag("result", "success")
+                .description("Duración de las cargas ejecutadas")
+                .register(registry);
+        loadFailure = Timer.builder(name + ".duration")
+                .tag("result", "failure")
+                .description("Duración de las cargas ejecutadas")
+                .register(registry);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ms_cels.patient.validation;
+
+/**
+ * Reglas de formato de los campos de paciente, escritas como recorridos de caracteres en lugar de
+ * expresiones regulares: no crean {@code Matcher} ni objetos intermedios y cortan en el primer
+ * carácter inválido. Cada método documenta la expresión regular equivalente que sustituye.
+ * {@code null} se considera válido, igual que con {@code @Pattern}; la obligatoriedad la
+ * controlan {@code @NotBlank} / {@code @NotNull}.
+ */
+public final class FieldRules {
+
+    private static final int NAME_MIN_LENGTH = 2;
+    private static final int NAME_MAX_LENGTH = 50;
+    private static final int PHONE_MIN_DIGITS = 8;
+    private static final int PHONE_MAX_DIGITS = 15;
+    private static final int POSTAL_CODE_MIN_LENGTH = 3;
+    private static final int POSTAL_CODE_MAX_LENGTH = 10;
+
+    private FieldRules() {
+    }
+
+    /**
+     * {@code ^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\s\.\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\.-]$}
+     */
+    public static boolean isPersonName(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        int length = value.length();
+        if (length < NAME_MIN_LENGTH || length > NAME_MAX_LENGTH || !isNameLetter(value.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < length - 1; i++) {
+            char c = value.charAt(i);
+            if (!isNameLetter(c) && !isWhitespace(c) && !isNamePunctuation(c)) {
+                return false;
+            }
+        }
+        char last = value.charAt(length - 1);
+        return isNameLetter(last) || isNamePunctuation(last);
+    }
+
+    /**
+     * {@code ^([MFONBXmfonbx]|[Nn][Bb])$}: códigos de {@code Gender}, incluido "NB"
+     */
+    public static boolean isGender(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        if (value.length() == 2) {
+            return (value.charAt(0) == 'N' || value.charAt(0) == 'n') && (value.charAt(1) == 'B' || value.charAt(1) == 'b');
+        }
+        if (value.length() != 1) {
+            return false;
+        }
+        return switch (value.charAt(0)) {
+            case 'M', 'F', 'O', 'N', 'B', 'X', 'm', 'f', 'o', 'n', 'b', 'x' -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * {@code ^(A|B|AB|O)[+-]$}
+     */
+    public static boolean isBloodType(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        int length = value.length();
+        if (length == 2) {
+            char group = value.charAt(0);
+            return (group == 'A' || group == 'B' || group == 'O') && isRhFactor(value.charAt(1));
+        }
+        return length == 3 && value.charAt(0) == 'A' && value.charAt(1) == 'B' && isRhFactor(value.charAt(2));
+    }
+
+    /**
+     * {@code ^\+?[1-9][0-9]{7,14}$}
+     */
+    public static boolean isPhone(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        int start = value.length() > 0 && value.charAt(0) == '+' ? 1 : 0;
+        int digits = value.length() - start;
+        if (digits < PHONE_MIN_DIGITS || digits > PHONE_MAX_DIGITS) {
+            return false;
+        }
+        char first = value.charAt(start);
+        if (first < '1' || first > '9') {
+            return false;
+        }
+        for (int i = start + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code ^[A-Za-z0-9\-\s]{3,10}$}
+     */
+    public static boolean isPostalCode(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        int length = value.length();
+        if (length < POSTAL_CODE_MIN_LENGTH || length > POSTAL_CODE_MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && !(c >= '0' && c <= '9') && c != '-' && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNameLetter(char c) {
+        if (isAsciiLetter(c)) {
+            return true;
+        }
+        return switch (c) {
+            case 'á', 'é', 'í', 'ó', 'ú', 'Á', 'É', 'Í', 'Ó', 'Ú', 'ñ', 'Ñ' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isNamePunctuation(char c) {
+        return c == '.' || c == '-' || c == '\'';
+    }
+
+    // Igual que \s de java.util.regex sin UNICODE_CHARACTER_CLASS: [ \t\n\x0B\f\r]
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isRhFactor(char c) {
+        return c == '+' || c == '-';
+    }
+}
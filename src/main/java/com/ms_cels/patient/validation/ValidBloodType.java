@@ -0,0 +1,35 @@
+package com.ms_cels.patient.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Grupo sanguíneo ABO con factor Rh. Ver {@link FieldRules#isBloodType}.
+ */
+@Documented
+@Constraint(validatedBy = ValidBloodType.Validator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidBloodType {
+
+    String message() default "Tipo de sangre inválido (debe ser A+, A-, B+, B-, AB+, AB-, O+, O-)";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<ValidBloodType, CharSequence> {
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return FieldRules.isBloodType(value);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ms_cels.patient.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre propio (nombre, apellido, ciudad, país): letras, incluidas tildes y ñ, espacios, puntos, guiones y apóstrofes. Ver {@link FieldRules#isPersonName}.
+ */
+@Documented
+@Constraint(validatedBy = ValidPersonName.Validator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidPersonName {
+
+    String message() default "Debe contener de 2 a 50 caracteres alfabéticos y no puede terminar con espacio";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<ValidPersonName, CharSequence> {
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return FieldRules.isPersonName(value);
+        }
+    }
+}
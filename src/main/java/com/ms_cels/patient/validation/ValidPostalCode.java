@@ -0,0 +1,35 @@
+package com.ms_cels.patient.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Código postal alfanumérico de 3 a 10 caracteres. Ver {@link FieldRules#isPostalCode}.
+ */
+@Documented
+@Constraint(validatedBy = ValidPostalCode.Validator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidPostalCode {
+
+    String message() default "Código postal inválido. Debe contener entre 3 y 10 caracteres alfanuméricos";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<ValidPostalCode, CharSequence> {
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return FieldRules.isPostalCode(value);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package db.migration.postgresql;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base de las migraciones que crean un índice sobre patients sin bloquear escrituras.
+ * <p>
+ * Son migraciones Java porque CREATE INDEX CONCURRENTLY no admite bloque DO ni transacción. La
+ * tabla existe siempre a estas alturas (V1__patients_baseline). Un índice que requiere una
+ * extensión no instalada se omite; los de la búsqueda los reintenta {@link SearchIndexCallback}.
+ */
+abstract class ConcurrentIndexMigration extends BaseJavaMigration {
+
+    private final String indexName;
+    private final String definition;
+    private final String requiredExtension;
+
+    protected ConcurrentIndexMigration(String indexName, String columns) {
+        this(indexName, "(" + columns + ")", null);
+    }
+
+    protected ConcurrentIndexMigration(SearchIndex index) {
+        this(index.indexName(), index.definition(), index.requiredExtension());
+    }
+
+    /**
+     * @param definition        lo que sigue a {@code ON patients}: método, columnas o expresiones y predicado
+     * @param requiredExtension extensión sin la que el índice se omite (p. ej. pg_trgm), o null
+     */
+    protected ConcurrentIndexMigration(String indexName, String definition, String requiredExtension) {
+        this.indexName = indexName;
+        this.definition = definition;
+        this.requiredExtension = requiredExtension;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        createIndex(context.getConnection(), indexName, definition, requiredExtension);
+    }
+
+    static boolean tableExists(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT to_regclass('public.patients') IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /**
+     * Crea el índice con CONCURRENTLY si no existe (o lo rehace si quedó INVALID).
+     *
+     * @return false si se omitió porque falta {@code requiredExtension}
+     */
+    static boolean createIndex(Connection connection, String indexName, String definition, String requiredExtension)
+            throws SQLException {
+        if (requiredExtension != null) {
+            try (PreparedStatement query = connection.prepareStatement("SELECT 1 FROM pg_extension WHERE extname = ?")) {
+                query.setString(1, requiredExtension);
+                try (ResultSet rs = query.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                }
+            }
+        }
+        // Un CONCURRENTLY interrumpido deja el índice INVALID y IF NOT EXISTS no lo repararía
+        boolean invalid;
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                        "WHERE c.relname = ? AND NOT i.indisvalid")) {
+            query.setString(1, indexName);
+            try (ResultSet rs = query.executeQuery()) {
+                invalid = rs.next();
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (invalid) {
+                statement.execute("DROP INDEX CONCURRENTLY " + indexName);
+            }
+            statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName + " ON patients " + definition);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package db.migration.postgresql;
+
+/**
+ * Índices de expresión de la búsqueda de pacientes (funciones de V6). Los crean V6_1..V6_3 y,
+ * si entonces faltaba la tabla o la extensión, {@link SearchIndexCallback} tras cada migrate.
+ */
+public enum SearchIndex {
+
+    NAME_TRIGRAM("idx_patients_search_name_trgm",
+            "USING gin (public.patient_search_name(first_name, last_name) gin_trgm_ops) WHERE active",
+            "pg_trgm"),
+    CITY("idx_patients_search_city",
+            "(public.patient_unaccent(city), public.patient_unaccent(country)) WHERE active", null),
+    COUNTRY("idx_patients_search_country", "(public.patient_unaccent(country)) WHERE active", null);
+
+    private final String indexName;
+    private final String definition;
+    private final String requiredExtension;
+
+    SearchIndex(String indexName, String definition, String requiredExtension) {
+        this.indexName = indexName;
+        this.definition = definition;
+        this.requiredExtension = requiredExtension;
+    }
+
+    public String indexName() {
+        return indexName;
+    }
+
+    public String definition() {
+        return definition;
+    }
+
+    public String requiredExtension() {
+        return requiredExtension;
+    }
+}
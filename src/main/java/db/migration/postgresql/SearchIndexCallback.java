@@ -0,0 +1,57 @@
+package db.migration.postgresql;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * afterMigrate: crea los {@link SearchIndex} que falten. V6_1..V6_3 se registran como aplicadas
+ * aunque omitan un índice (pg_trgm sin instalar, o bases en las que la tabla aún no existía), así
+ * que se comprueba en cada migrate y se crean en cuanto la tabla y la extensión estén disponibles.
+ * Con todos creados solo cuesta unas consultas al catálogo.
+ */
+public class SearchIndexCallback implements Callback {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexCallback.class);
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    // CREATE INDEX CONCURRENTLY no puede ejecutarse dentro de una transacción
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return false;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Connection connection = context.getConnection();
+        try {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                    || !ConcurrentIndexMigration.tableExists(connection)) {
+                return;
+            }
+            for (SearchIndex index : SearchIndex.values()) {
+                if (!ConcurrentIndexMigration.createIndex(connection, index.indexName(), index.definition(),
+                        index.requiredExtension())) {
+                    logger.warn("⚠️ Índice de búsqueda {} sin crear: falta la extensión {}",
+                            index.indexName(), index.requiredExtension());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudieron crear los índices de búsqueda", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "searchIndexes";
+    }
+}
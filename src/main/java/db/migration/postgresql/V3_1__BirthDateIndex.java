@@ -0,0 +1,11 @@
+package db.migration.postgresql;
+
+/**
+ * Índice sobre birth_date, la única columna de fecha de nacimiento tras retirar date_birth.
+ */
+public class V3_1__BirthDateIndex extends ConcurrentIndexMigration {
+
+    public V3_1__BirthDateIndex() {
+        super("idx_patients_birth_date", "birth_date");
+    }
+}
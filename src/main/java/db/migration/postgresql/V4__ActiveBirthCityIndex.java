@@ -0,0 +1,11 @@
+package db.migration.postgresql;
+
+/**
+ * Índice compuesto de las consultas por cohorte de nacimiento (GET /v1/patients/birth-range).
+ */
+public class V4__ActiveBirthCityIndex extends ConcurrentIndexMigration {
+
+    public V4__ActiveBirthCityIndex() {
+        super("idx_patients_active_birth_city", "active, birth_date, city");
+    }
+}
@@ -0,0 +1,11 @@
+package db.migration.postgresql;
+
+/**
+ * Índice del feed de cambios (GET /v1/patients/changes), sobre la columna añadida en V5.
+ */
+public class V5_1__ChangeFeedIndex extends ConcurrentIndexMigration {
+
+    public V5_1__ChangeFeedIndex() {
+        super("idx_patients_changes", "updated_at, change_seq");
+    }
+}
@@ -0,0 +1,12 @@
+package db.migration.postgresql;
+
+/**
+ * Índice de trigramas de la búsqueda por prefijo de nombre (funciones de V6). Si no se pudo
+ * instalar pg_trgm se omite aquí y lo crea {@link SearchIndexCallback} cuando la extensión exista.
+ */
+public class V6_1__SearchNameTrigramIndex extends ConcurrentIndexMigration {
+
+    public V6_1__SearchNameTrigramIndex() {
+        super(SearchIndex.NAME_TRIGRAM);
+    }
+}
@@ -0,0 +1,11 @@
+package db.migration.postgresql;
+
+/**
+ * Filtro por ciudad (y país) de la búsqueda, sobre el texto sin acentos.
+ */
+public class V6_2__SearchCityIndex extends ConcurrentIndexMigration {
+
+    public V6_2__SearchCityIndex() {
+        super(SearchIndex.CITY);
+    }
+}
@@ -0,0 +1,11 @@
+package db.migration.postgresql;
+
+/**
+ * Filtro solo por país de la búsqueda, sobre el texto sin acentos.
+ */
+public class V6_3__SearchCountryIndex extends ConcurrentIndexMigration {
+
+    public V6_3__SearchCountryIndex() {
+        super(SearchIndex.COUNTRY);
+    }
+}
@@ -0,0 +1,11 @@
+package db.migration.postgresql;
+
+/**
+ * Orden y paginación keyset de la búsqueda: WHERE active AND (last_name, first_name, id) > cursor.
+ */
+public class V6_4__ActiveNameIndex extends ConcurrentIndexMigration {
+
+    public V6_4__ActiveNameIndex() {
+        super("idx_patients_active_name", "active, last_name, first_name, id");
+    }
+}
@@ -0,0 +1,28 @@
+-- Fase "contract" de la eliminación de date_birth. Solo se ejecuta cuando se añade esta ubicación
+-- a SPRING_FLYWAY_LOCATIONS, una vez que todas las instancias corren la versión que ya no mapea la
+-- columna (ver V3__birth_date_backfill.sql).
+--
+-- Es repetible (R__) e idempotente: Flyway la aplica tras las versionadas sin importar cuántas se
+-- hayan añadido entre el despliegue "expand" y la activación de esta ubicación, evitando el error
+-- de migración fuera de orden que provocaría una V<n> retrasada.
+
+-- lock_timeout: DROP COLUMN solo toca el catálogo, pero necesita un bloqueo exclusivo breve; mejor
+-- fallar y reintentar el despliegue que encolar todas las consultas detrás de una transacción larga.
+SET lock_timeout = '5s';
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = 'public' AND table_name = 'patients'
+                     AND column_name = 'date_birth') THEN
+        RETURN;
+    END IF;
+
+    -- Última pasada del relleno por si alguna instancia antigua escribió solo date_birth
+    UPDATE patients SET birth_date = date_birth WHERE birth_date IS NULL AND date_birth IS NOT NULL;
+
+    ALTER TABLE patients DROP COLUMN date_birth;
+END
+$$;
+
+RESET lock_timeout;
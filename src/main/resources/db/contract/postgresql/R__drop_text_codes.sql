@@ -0,0 +1,87 @@
+-- Fase "contract" del paso de gender / blood_type a smallint (ver V2__patient_compact_codes.sql).
+-- Solo se ejecuta cuando se añade esta ubicación a SPRING_FLYWAY_LOCATIONS, una vez que todas las
+-- instancias corren la versión que lee gender_code / blood_type_code.
+--
+-- Repetible e idempotente, como R__drop_date_birth.sql. Se ejecuta fuera de transacción
+-- (R__drop_text_codes.sql.conf) para que cada paso tome y suelte su bloqueo por separado: los
+-- NOT NULL se apoyan en un CHECK validado aparte (bloqueo que no impide leer ni escribir), de modo
+-- que SET NOT NULL no recorre la tabla con el bloqueo exclusivo.
+
+SET lock_timeout = '5s';
+
+-- Última pasada del relleno por si alguna instancia antigua escribió solo el texto; un código que
+-- siga sin equivalencia aborta el contract antes de borrar nada
+DO $$
+DECLARE
+    pending bigint;
+BEGIN
+    IF to_regclass('public.patients') IS NULL
+       OR NOT EXISTS (SELECT 1 FROM information_schema.columns
+                      WHERE table_schema = 'public' AND table_name = 'patients'
+                        AND column_name = 'gender' AND data_type <> 'smallint') THEN
+        RETURN;
+    END IF;
+
+    UPDATE patients
+    SET gender_code = patient_gender_to_code(gender),
+        blood_type_code = patient_blood_type_to_code(blood_type)
+    WHERE gender_code IS NULL
+       OR (blood_type_code IS NULL AND nullif(trim(blood_type), '') IS NOT NULL);
+    UPDATE patients SET active = true WHERE active IS NULL;
+    UPDATE patients SET status = true WHERE status IS NULL;
+
+    SELECT count(*) INTO pending
+    FROM patients
+    WHERE gender_code IS NULL
+       OR (blood_type_code IS NULL AND nullif(trim(blood_type), '') IS NOT NULL);
+    IF pending > 0 THEN
+        RAISE EXCEPTION '% pacientes con gender / blood_type sin código; corrígelos antes del contract', pending;
+    END IF;
+END
+$$;
+
+DO $$
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'patients_codes_not_null') THEN
+        ALTER TABLE patients ADD CONSTRAINT patients_codes_not_null
+            CHECK (gender_code IS NOT NULL AND active IS NOT NULL AND status IS NOT NULL) NOT VALID;
+    END IF;
+END
+$$;
+
+DO $$
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+    ALTER TABLE patients VALIDATE CONSTRAINT patients_codes_not_null;
+END
+$$;
+
+DO $$
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+
+    DROP TRIGGER IF EXISTS patients_sync_codes ON patients;
+    ALTER TABLE patients
+        ALTER COLUMN gender_code SET NOT NULL,
+        ALTER COLUMN active SET NOT NULL,
+        ALTER COLUMN status SET NOT NULL,
+        DROP CONSTRAINT patients_codes_not_null,
+        DROP COLUMN IF EXISTS gender,
+        DROP COLUMN IF EXISTS blood_type;
+END
+$$;
+
+DROP FUNCTION IF EXISTS patient_sync_codes();
+DROP FUNCTION IF EXISTS patient_gender_to_code(text);
+DROP FUNCTION IF EXISTS patient_gender_from_code(smallint);
+DROP FUNCTION IF EXISTS patient_blood_type_to_code(text);
+DROP FUNCTION IF EXISTS patient_blood_type_from_code(smallint);
+
+RESET lock_timeout;
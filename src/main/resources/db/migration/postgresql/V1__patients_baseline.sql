@@ -0,0 +1,36 @@
+-- Esquema base de patients tal como existía antes de V2 (gender y blood_type en texto,
+-- date_birth todavía presente).
+--
+-- En una base nueva crea la tabla antes que el resto de migraciones, para que V2..V6_x (e índices
+-- de expresión que la entidad no puede declarar) se apliquen igual que en producción; Hibernate
+-- solo añade después las columnas que gestiona él (version). En una base existente sin historial,
+-- baseline-on-migrate la registra como versión 1 y este script no se ejecuta.
+CREATE TABLE IF NOT EXISTS patients (
+    id                       uuid         NOT NULL PRIMARY KEY,
+    first_name               varchar(50)  NOT NULL,
+    last_name                varchar(50)  NOT NULL,
+    birth_date               date         NOT NULL,
+    gender                   varchar(2)   NOT NULL,
+    blood_type               varchar(3),
+    phone                    varchar(15)  NOT NULL UNIQUE,
+    email                    varchar(100) NOT NULL UNIQUE,
+    address                  varchar(200) NOT NULL,
+    city                     varchar(50)  NOT NULL,
+    country                  varchar(50)  NOT NULL,
+    postal_code              varchar(10)  NOT NULL,
+    emergency_contact_name   varchar(100),
+    emergency_contact_phone  varchar(15),
+    emergency_contact_name2  varchar(255),
+    emergency_contact_name3  varchar(255),
+    emergency_contact_phone2 varchar(255),
+    emergency_contact_phone3 varchar(255),
+    medical_history          text,
+    allergies                varchar(500),
+    insurance_provider       varchar(100),
+    insurance_number         varchar(20)  UNIQUE,
+    registration_date        timestamp(6),
+    updated_at               timestamp(6),
+    status                   boolean,
+    active                   boolean,
+    date_birth               date
+);
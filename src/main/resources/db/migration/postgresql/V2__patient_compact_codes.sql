@@ -0,0 +1,180 @@
+-- Fase "expand" del paso de gender / blood_type de texto a smallint (códigos de Gender / BloodType)
+-- y de los indicadores active / status a NOT NULL.
+--
+-- Durante el despliegue escalonado conviven instancias antiguas, que escriben 'M' / 'AB+' en las
+-- columnas de texto, con las nuevas, que leen y escriben gender_code / blood_type_code. Por eso
+-- aquí no se reescribe la tabla ni se cambia el tipo de ninguna columna:
+--   1. se añaden las columnas smallint (cambio solo de catálogo);
+--   2. un trigger mantiene ambas representaciones sincronizadas mientras convivan las versiones;
+--   3. se rellenan los códigos por lotes.
+-- Las columnas de texto, el trigger y los NOT NULL se resuelven en db/contract/postgresql
+-- (R__drop_text_codes.sql) cuando ya no quede ninguna instancia antigua.
+--
+-- Un valor heredado que no corresponde a ningún código hace fallar la migración (con el recuento
+-- por valor) en lugar de convertirse en silencio en otro código o en NULL: hay que corregirlo a
+-- mano antes de desplegar. En una base nueva la tabla aún no existe (la crea Hibernate después con
+-- las columnas smallint) y el script no hace nada.
+--
+-- Se ejecuta fuera de transacción (V2__patient_compact_codes.sql.conf) para poder hacer COMMIT por lote.
+
+SET lock_timeout = '5s';
+
+CREATE OR REPLACE FUNCTION patient_gender_to_code(value text) RETURNS smallint
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE upper(trim(value))
+               WHEN 'M' THEN 1
+               WHEN 'F' THEN 2
+               WHEN 'O' THEN 3
+               WHEN 'NB' THEN 4
+               WHEN 'N' THEN 4
+               WHEN 'B' THEN 4
+               WHEN 'X' THEN 5
+           END::smallint
+$$;
+
+CREATE OR REPLACE FUNCTION patient_gender_from_code(code smallint) RETURNS text
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE code WHEN 1 THEN 'M' WHEN 2 THEN 'F' WHEN 3 THEN 'O' WHEN 4 THEN 'NB' WHEN 5 THEN 'X' END
+$$;
+
+CREATE OR REPLACE FUNCTION patient_blood_type_to_code(value text) RETURNS smallint
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE upper(trim(value))
+               WHEN 'A+' THEN 1
+               WHEN 'A-' THEN 2
+               WHEN 'B+' THEN 3
+               WHEN 'B-' THEN 4
+               WHEN 'AB+' THEN 5
+               WHEN 'AB-' THEN 6
+               WHEN 'O+' THEN 7
+               WHEN 'O-' THEN 8
+           END::smallint
+$$;
+
+CREATE OR REPLACE FUNCTION patient_blood_type_from_code(code smallint) RETURNS text
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE code WHEN 1 THEN 'A+' WHEN 2 THEN 'A-' WHEN 3 THEN 'B+' WHEN 4 THEN 'B-'
+                     WHEN 5 THEN 'AB+' WHEN 6 THEN 'AB-' WHEN 7 THEN 'O+' WHEN 8 THEN 'O-' END
+$$;
+
+-- Gana la representación que haya cambiado en la sentencia: la instancia antigua escribe el texto,
+-- la nueva el código, y la otra columna se deriva de ella
+CREATE OR REPLACE FUNCTION patient_sync_codes() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.gender_code IS NULL THEN
+            NEW.gender_code := patient_gender_to_code(NEW.gender);
+        ELSIF NEW.gender IS NULL THEN
+            NEW.gender := patient_gender_from_code(NEW.gender_code);
+        END IF;
+        IF NEW.blood_type_code IS NULL THEN
+            NEW.blood_type_code := patient_blood_type_to_code(NEW.blood_type);
+        ELSIF NEW.blood_type IS NULL THEN
+            NEW.blood_type := patient_blood_type_from_code(NEW.blood_type_code);
+        END IF;
+    ELSE
+        IF NEW.gender_code IS DISTINCT FROM OLD.gender_code THEN
+            NEW.gender := patient_gender_from_code(NEW.gender_code);
+        ELSIF NEW.gender IS DISTINCT FROM OLD.gender THEN
+            NEW.gender_code := patient_gender_to_code(NEW.gender);
+        END IF;
+        IF NEW.blood_type_code IS DISTINCT FROM OLD.blood_type_code THEN
+            NEW.blood_type := patient_blood_type_from_code(NEW.blood_type_code);
+        ELSIF NEW.blood_type IS DISTINCT FROM OLD.blood_type THEN
+            NEW.blood_type_code := patient_blood_type_to_code(NEW.blood_type);
+        END IF;
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+-- Valores heredados sin código: se informa de todos (los dos campos con la misma regla) y se aborta.
+-- Solo blood_type es opcional: NULL o vacío quedan como NULL.
+DO $$
+DECLARE
+    unknown text;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = 'public' AND table_name = 'patients'
+                     AND column_name = 'gender' AND data_type <> 'smallint') THEN
+        RETURN;
+    END IF;
+
+    SELECT string_agg(format('%s=%L (%s filas)', field, value, total), ', ')
+    INTO unknown
+    FROM (SELECT 'gender' AS field, gender AS value, count(*) AS total
+          FROM patients
+          WHERE patient_gender_to_code(gender) IS NULL
+          GROUP BY gender
+          UNION ALL
+          SELECT 'blood_type', blood_type, count(*)
+          FROM patients
+          WHERE nullif(trim(blood_type), '') IS NOT NULL AND patient_blood_type_to_code(blood_type) IS NULL
+          GROUP BY blood_type) invalid;
+
+    IF unknown IS NOT NULL THEN
+        RAISE EXCEPTION 'Códigos heredados sin equivalencia: %. Corrígelos antes de migrar.', unknown;
+    END IF;
+END
+$$;
+
+-- Columnas nuevas sin DEFAULT ni NOT NULL y defaults de los indicadores: solo catálogo, bloqueo breve
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = 'public' AND table_name = 'patients'
+                     AND column_name = 'gender' AND data_type <> 'smallint') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE patients
+        ADD COLUMN IF NOT EXISTS gender_code smallint,
+        ADD COLUMN IF NOT EXISTS blood_type_code smallint,
+        ALTER COLUMN active SET DEFAULT true,
+        ALTER COLUMN status SET DEFAULT true;
+
+    DROP TRIGGER IF EXISTS patients_sync_codes ON patients;
+    CREATE TRIGGER patients_sync_codes
+        BEFORE INSERT OR UPDATE ON patients
+        FOR EACH ROW EXECUTE FUNCTION patient_sync_codes();
+END
+$$;
+
+RESET lock_timeout;
+
+-- Relleno por lotes de los códigos y de los indicadores nulos. Cada lote confirma por separado;
+-- SKIP LOCKED evita esperar a filas que la aplicación está modificando en ese momento.
+DO $$
+DECLARE
+    batch_size CONSTANT int := 5000;
+    updated int;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = 'public' AND table_name = 'patients'
+                     AND column_name = 'gender_code')
+       OR NOT EXISTS (SELECT 1 FROM information_schema.columns
+                      WHERE table_schema = 'public' AND table_name = 'patients'
+                        AND column_name = 'gender' AND data_type <> 'smallint') THEN
+        RETURN;
+    END IF;
+
+    LOOP
+        UPDATE patients p
+        SET gender_code = patient_gender_to_code(p.gender),
+            blood_type_code = patient_blood_type_to_code(p.blood_type),
+            active = coalesce(p.active, true),
+            status = coalesce(p.status, true)
+        WHERE p.id IN (SELECT id FROM patients
+                       WHERE gender_code IS NULL
+                          OR (blood_type_code IS NULL AND nullif(trim(blood_type), '') IS NOT NULL)
+                          OR active IS NULL
+                          OR status IS NULL
+                       LIMIT batch_size
+                       FOR UPDATE SKIP LOCKED);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        COMMIT;
+        EXIT WHEN updated = 0;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,49 @@
+-- Fase "expand" de la eliminación de date_birth (copia histórica de birth_date).
+--
+-- Esta versión de la aplicación ya no mapea date_birth, pero durante el despliegue escalonado
+-- conviven instancias antiguas que siguen escribiéndola en @PrePersist / @PreUpdate. Por eso aquí
+-- solo se prepara el esquema y se rellena birth_date; la columna se borra en
+-- db/contract/postgresql/R__drop_date_birth.sql cuando ya no quede ninguna instancia antigua.
+--
+-- Se ejecuta fuera de transacción (V3__birth_date_backfill.sql.conf) para poder hacer COMMIT por
+-- lote. El índice sobre birth_date se crea después, con CONCURRENTLY, en V3_1__BirthDateIndex.
+
+-- Las instancias nuevas insertan sin date_birth: si la columna se creó NOT NULL hay que relajarla
+-- antes de que reciban tráfico. Es un cambio solo de catálogo.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = 'public' AND table_name = 'patients'
+                 AND column_name = 'date_birth' AND is_nullable = 'NO') THEN
+        ALTER TABLE patients ALTER COLUMN date_birth DROP NOT NULL;
+    END IF;
+END
+$$;
+
+-- Relleno por lotes: filas antiguas con birth_date nulo toman el valor de date_birth. Cada lote
+-- confirma por separado para no mantener bloqueos de fila ni generar una transacción enorme;
+-- SKIP LOCKED evita esperar a filas que la aplicación está modificando en ese momento.
+DO $$
+DECLARE
+    batch_size CONSTANT int := 5000;
+    updated int;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = 'public' AND table_name = 'patients'
+                     AND column_name = 'date_birth') THEN
+        RETURN;
+    END IF;
+
+    LOOP
+        UPDATE patients p
+        SET birth_date = p.date_birth
+        WHERE p.id IN (SELECT id FROM patients
+                       WHERE birth_date IS NULL AND date_birth IS NOT NULL
+                       LIMIT batch_size
+                       FOR UPDATE SKIP LOCKED);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        COMMIT;
+        EXIT WHEN updated = 0;
+    END LOOP;
+END
+$$;
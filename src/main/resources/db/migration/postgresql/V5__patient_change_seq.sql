@@ -0,0 +1,47 @@
+-- Secuencia y columna change_seq del feed de cambios (GET /v1/patients/changes).
+--
+-- En una base nueva solo se crea la secuencia: la tabla y la columna las crea Hibernate después.
+-- Se ejecuta fuera de transacción (V5__patient_change_seq.sql.conf) para confirmar el relleno por
+-- lotes. El índice (updated_at, change_seq) se crea con CONCURRENTLY en V5_1__ChangeFeedIndex.
+
+-- INCREMENT BY = ChangeSequenceGenerator.ALLOCATION_SIZE: cada nextval reserva un bloque
+CREATE SEQUENCE IF NOT EXISTS patient_change_seq START WITH 1 INCREMENT BY 50;
+
+-- Columna sin DEFAULT al añadirla (un DEFAULT volátil reescribiría la tabla entera); el DEFAULT se
+-- fija después, solo en el catálogo, y cubre los INSERT de las instancias de la versión anterior
+-- mientras dure el despliegue.
+DO $$
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+    ALTER TABLE patients ADD COLUMN IF NOT EXISTS change_seq bigint;
+    ALTER TABLE patients ALTER COLUMN change_seq SET DEFAULT nextval('patient_change_seq');
+END
+$$;
+
+-- Relleno por lotes, con COMMIT por lote y SKIP LOCKED como en V3. Las filas sin updated_at toman
+-- la fecha de alta para que también entren en el feed.
+DO $$
+DECLARE
+    batch_size CONSTANT int := 5000;
+    updated int;
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+
+    LOOP
+        UPDATE patients p
+        SET change_seq = nextval('patient_change_seq'),
+            updated_at = COALESCE(p.updated_at, p.registration_date, now())
+        WHERE p.id IN (SELECT id FROM patients
+                       WHERE change_seq IS NULL
+                       LIMIT batch_size
+                       FOR UPDATE SKIP LOCKED);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        COMMIT;
+        EXIT WHEN updated = 0;
+    END LOOP;
+END
+$$;
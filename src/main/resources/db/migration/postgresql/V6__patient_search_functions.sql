@@ -0,0 +1,38 @@
+-- Funciones de la búsqueda por nombre (GET /v1/patients/search), antes creadas al arrancar cada
+-- instancia. No dependen de la tabla: existen también en una base nueva, antes de que Hibernate
+-- cree patients. Los índices que las usan se crean con CONCURRENTLY en V6_1..V6_4.
+--
+-- Sin permiso para instalar unaccent o pg_trgm la migración no falla: patient_unaccent recurre a
+-- translate() (misma salida que TextNormalizer para el alfabeto latino habitual) y el índice de
+-- trigramas se omite. La búsqueda funciona igual, solo más lenta.
+
+DO $$
+BEGIN
+    BEGIN
+        CREATE EXTENSION IF NOT EXISTS unaccent;
+    EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'No se pudo instalar unaccent (%); se usa translate()', SQLERRM;
+    END;
+    BEGIN
+        CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'No se pudo instalar pg_trgm (%); la búsqueda por nombre no tendrá índice', SQLERRM;
+    END;
+
+    -- unaccent() no es IMMUTABLE; el envoltorio con diccionario explícito sí puede usarse en índices
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'unaccent') THEN
+        CREATE OR REPLACE FUNCTION public.patient_unaccent(text) RETURNS text
+            LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+            AS $f$ SELECT public.unaccent('public.unaccent'::regdictionary, lower($1)) $f$;
+    ELSE
+        CREATE OR REPLACE FUNCTION public.patient_unaccent(text) RETURNS text
+            LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+            AS $f$ SELECT translate(lower($1), 'áàâäãåéèêëíìîïóòôöõúùûüñçýÿ', 'aaaaaaeeeeiiiiooooouuuuncyy') $f$;
+    END IF;
+
+    CREATE OR REPLACE FUNCTION public.patient_search_name(text, text) RETURNS text
+        LANGUAGE sql IMMUTABLE PARALLEL SAFE
+        AS $f$ SELECT ' ' || regexp_replace(public.patient_unaccent(coalesce($1, '') || ' ' || coalesce($2, '')),
+                                             '[[:space:].''-]+', ' ', 'g') $f$;
+END
+$$;
@@ -0,0 +1,59 @@
+-- registration_date pasa a NOT NULL: el listado paginado (GET /v1/patients) ordena por el keyset
+-- (registration_date, id) y una fila con NULL quedaría fuera de las páginas y no se podría
+-- codificar en el cursor.
+--
+-- Se ejecuta fuera de transacción (V7__registration_date_not_null.sql.conf) para confirmar el
+-- relleno por lotes, como V3 y V5.
+
+-- Relleno por lotes: las filas sin fecha de alta toman la de su último cambio (o la actual).
+DO $$
+DECLARE
+    batch_size CONSTANT int := 5000;
+    updated int;
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+
+    LOOP
+        UPDATE patients p
+        SET registration_date = COALESCE(p.updated_at, now())
+        WHERE p.id IN (SELECT id FROM patients
+                       WHERE registration_date IS NULL
+                       LIMIT batch_size
+                       FOR UPDATE SKIP LOCKED);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        COMMIT;
+        EXIT WHEN updated = 0;
+    END LOOP;
+
+    -- Filas que SKIP LOCKED saltó por estar bloqueadas: aquí sí se espera a que se liberen
+    UPDATE patients
+    SET registration_date = COALESCE(updated_at, now())
+    WHERE registration_date IS NULL;
+    COMMIT;
+END
+$$;
+
+-- SET NOT NULL directo recorrería la tabla con un bloqueo exclusivo. Con un CHECK validado antes
+-- (VALIDATE solo toma SHARE UPDATE EXCLUSIVE) PostgreSQL 12+ omite ese recorrido.
+DO $$
+BEGIN
+    IF to_regclass('public.patients') IS NULL THEN
+        RETURN;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = 'public' AND table_name = 'patients'
+                 AND column_name = 'registration_date' AND is_nullable = 'NO') THEN
+        RETURN;
+    END IF;
+    ALTER TABLE patients DROP CONSTRAINT IF EXISTS patients_registration_date_not_null;
+    ALTER TABLE patients ADD CONSTRAINT patients_registration_date_not_null
+        CHECK (registration_date IS NOT NULL) NOT VALID;
+    COMMIT;
+    ALTER TABLE patients VALIDATE CONSTRAINT patients_registration_date_not_null;
+    COMMIT;
+    ALTER TABLE patients ALTER COLUMN registration_date SET NOT NULL;
+    ALTER TABLE patients DROP CONSTRAINT patients_registration_date_not_null;
+END
+$$;
@@ -0,0 +1,168 @@
+package com.ms_cels.patient.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PatientControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID id;
+    private PatientDto dto;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        dto = PatientDto.builder()
+                .firstName("Luis")
+                .lastName("García")
+                .birthDate(LocalDate.of(1985, 5, 20))
+                .gender("M")
+                .phone("5553334444")
+                .email("luis@example.com")
+                .address("Av. Juárez 10")
+                .city("Puebla")
+                .country("México")
+                .postalCode("72000")
+                .build();
+        id = patientService.addPatient(dto).getId();
+    }
+
+    @Test
+    void getReturnsETagAndNotModifiedOnMatch() throws Exception {
+        String eTag = mockMvc.perform(get("/v1/patients/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v1/patients/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void createdPatientAppearsInSummaryListWithoutClinicalData() throws Exception {
+        PatientDto other = PatientDto.builder()
+                .firstName("Marta")
+                .lastName("Ruiz")
+                .birthDate(LocalDate.of(1970, 3, 1))
+                .gender("F")
+                .phone("5557778888")
+                .email("marta@example.com")
+                .address("Calle 5")
+                .city("León")
+                .country("México")
+                .postalCode("37000")
+                .medicalHistory("Hipertensión")
+                .build();
+
+        mockMvc.perform(post("/v1/patients").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(other)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.medicalHistory").value("Hipertensión"));
+
+        mockMvc.perform(get("/v1/patients").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1].email").value("marta@example.com"))
+                .andExpect(jsonPath("$.content[1].medicalHistory").doesNotExist());
+
+        mockMvc.perform(get("/v1/patients/{id}/summary", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("luis@example.com"))
+                .andExpect(jsonPath("$.age").isNumber())
+                .andExpect(jsonPath("$.address").doesNotExist());
+    }
+
+    @Test
+    void putWithStaleIfMatchIsRejected() throws Exception {
+        String eTag = mockMvc.perform(get("/v1/patients/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        dto.setCity("Tlaxcala");
+        String body = objectMapper.writeValueAsString(dto);
+        mockMvc.perform(put("/v1/patients/{id}", id).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        dto.setCity("Cholula");
+        mockMvc.perform(put("/v1/patients/{id}", id).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void ifMatchIsCheckedAgainstTheRowNotTheLocalCache() throws Exception {
+        mockMvc.perform(get("/v1/patients/{id}", id)).andExpect(status().isOk());
+        // Escritura desde otra instancia: la caché de esta sigue con la versión anterior
+        jdbcTemplate.update("UPDATE patients SET version = version + 1 WHERE id = ?", id);
+        long current = jdbcTemplate.queryForObject("SELECT version FROM patients WHERE id = ?", Long.class, id);
+
+        dto.setCity("Tlaxcala");
+        String body = objectMapper.writeValueAsString(dto);
+        mockMvc.perform(put("/v1/patients/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"" + current + "\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/v1/patients/{id}", id).header(HttpHeaders.IF_MATCH, "\"" + current + "\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/v1/patients/{id}", id).header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void batchLookupReturnsFoundAndMissingIds() throws Exception {
+        UUID unknown = UUID.randomUUID();
+
+        mockMvc.perform(get("/v1/patients").param("ids", id + "," + unknown))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found.length()").value(1))
+                .andExpect(jsonPath("$.found[0].email").value("luis@example.com"))
+                .andExpect(jsonPath("$.found[0].medicalHistory").doesNotExist())
+                .andExpect(jsonPath("$.missing[0]").value(unknown.toString()));
+
+        mockMvc.perform(post("/v1/patients/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"" + id + "\", \"no-es-uuid\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
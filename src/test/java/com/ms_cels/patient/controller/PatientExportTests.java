@@ -0,0 +1,129 @@
+package com.ms_cels.patient.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PatientExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID inactiveId;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            PatientDto dto = samplePatient(i);
+            if (i == 0) {
+                dto.setAddress("Av. Juárez 10, \"Centro\"");
+            }
+            UUID id = patientService.addPatient(dto).getId();
+            if (i == 2) {
+                inactiveId = id;
+            }
+        }
+        patientService.deletePatient(inactiveId);
+    }
+
+    @Test
+    void exportsCsvWithHeaderAndQuotedFields() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/v1/patients/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertTrue(response.getContentType().startsWith("text/csv"));
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains(".csv"));
+        List<String> lines = response.getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("id,first_name,last_name,birth_date,gender"));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",\"Av. Juárez 10, \"\"Centro\"\"\",")));
+        assertFalse(lines.get(0).contains("medical_history"));
+    }
+
+    @Test
+    void exportsGzippedNdjsonIncludingInactivePatients() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/v1/patients/export")
+                        .param("format", "ndjson")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        byte[] body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            body = in.readAllBytes();
+        }
+        List<String> lines = new String(body, StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+
+        JsonNode inactive = null;
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            if (row.get("id").asText().equals(inactiveId.toString())) {
+                inactive = row;
+            }
+        }
+        assertNotNull(inactive);
+        assertFalse(inactive.get("active").asBoolean());
+        assertEquals("F", inactive.get("gender").asText());
+        assertEquals("O+", inactive.get("blood_type").asText());
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/v1/patients/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static PatientDto samplePatient(int i) {
+        return PatientDto.builder()
+                .firstName("Marta")
+                .lastName("Ríos")
+                .birthDate(LocalDate.of(1980, 3, 1).plusDays(i))
+                .gender("F")
+                .bloodType("O+")
+                .phone("5552000" + String.format("%03d", i))
+                .email("marta" + i + "@example.com")
+                .address("Calle " + i)
+                .city("Mérida")
+                .country("México")
+                .postalCode("97000")
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ms_cels.patient.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class PatientMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsErrorsServiceTimersAndPayloadSizesWithTemplatedUris() throws Exception {
+        mockMvc.perform(get("/v1/patients/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1.0, meterRegistry.get("patient.http.errors")
+                .tag("exception", "ResourceNotFoundException")
+                .tag("status", "404")
+                .counter().count());
+        assertTrue(meterRegistry.get("patient.service")
+                .tag("method", "getPatient")
+                .tag("exception", "ResourceNotFoundException")
+                .timer().count() >= 1);
+        // Etiqueta uri con la plantilla, no con el id concreto: cardinalidad acotada
+        assertTrue(meterRegistry.get("http.server.response.size")
+                .tag("uri", "/v1/patients/{id}")
+                .tag("status", "404")
+                .summary().totalAmount() > 0);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("patient_http_errors_total")))
+                .andExpect(content().string(containsString("patient_service_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")));
+    }
+}
@@ -0,0 +1,77 @@
+package com.ms_cels.patient.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlledDataSourceTests {
+
+    private AdmissionControlledDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1");
+        dataSource = new AdmissionControlledDataSource(h2, 2, 50);
+    }
+
+    @Test
+    void rejectsWhenAllPermitsAreHeld() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertEquals(0, dataSource.getAvailablePermits());
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void releasesPermitOnlyOncePerConnection() throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void waitingThreadIsAdmittedWhenAConnectionCloses() throws Exception {
+        AdmissionControlledDataSource single = new AdmissionControlledDataSource(
+                (javax.sql.DataSource) dataSource.getTargetDataSource(), 1, 2000);
+        Connection held = single.getConnection();
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                held.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        releaser.start();
+        try (Connection connection = single.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        releaser.join();
+        assertEquals(1, single.getAvailablePermits());
+    }
+
+    @Test
+    void resizingAdjustsPermitsWithoutRevokingHeldConnections() throws Exception {
+        dataSource.setMaxPermits(3);
+        assertEquals(3, dataSource.getAvailablePermits());
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        dataSource.setMaxPermits(1);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        first.close();
+        // Aún queda una conexión por encima del nuevo límite
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        second.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        assertEquals(1, dataSource.getMaxPermits());
+    }
+}
@@ -0,0 +1,149 @@
+package com.ms_cels.patient.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HikariPoolGovernorTests {
+
+    private SimpleMeterRegistry registry;
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pool = new HikariDataSource();
+        pool.setPoolName("governor-test");
+        pool.setJdbcUrl("jdbc:h2:mem:governor;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(5000);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void growsWhenThreadsWaitAndUnblocksThem() throws Exception {
+        HikariPoolGovernor governor = new HikariPoolGovernor(pool, null, 2, 4, 10, 3);
+        governor.bindTo(registry);
+
+        try (Connection first = pool.getConnection(); Connection second = pool.getConnection()) {
+            CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> validConnection(pool));
+            awaitUntil(() -> pool.getHikariPoolMXBean().getThreadsAwaitingConnection() > 0);
+
+            assertEquals(3, governor.evaluate());
+            assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(3, pool.getHikariConfigMXBean().getMaximumPoolSize());
+        assertEquals(1.0, registry.get("patient.db.pool.resizes").tag("direction", "up").functionCounter().count());
+    }
+
+    // Con el limitador delante nadie espera en Hikari: la señal es la cola del semáforo
+    @Test
+    void growsWhenRequestsQueueInAdmissionLimiter() throws Exception {
+        AdmissionControlledDataSource admission = new AdmissionControlledDataSource(pool, 2, 5000);
+        HikariPoolGovernor governor = new HikariPoolGovernor(pool, admission, 2, 4, 10, 3);
+        governor.bindTo(registry);
+
+        try (Connection first = admission.getConnection(); Connection second = admission.getConnection()) {
+            CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> validConnection(admission));
+            awaitUntil(() -> admission.getQueueLength() > 0);
+            assertEquals(0, pool.getHikariPoolMXBean().getThreadsAwaitingConnection());
+
+            assertEquals(3, governor.evaluate());
+            assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(3, pool.getHikariConfigMXBean().getMaximumPoolSize());
+        assertEquals(3, admission.getMaxPermits());
+    }
+
+    @Test
+    void admissionWaitCountsAsPoolWait() throws Exception {
+        AdmissionControlledDataSource admission = new AdmissionControlledDataSource(pool, 2, 5000);
+        HikariPoolGovernor governor = new HikariPoolGovernor(pool, admission, 2, 4, 10, 3);
+        governor.bindTo(registry);
+
+        // Una petición que espera 100 ms en el semáforo, ya admitida cuando se evalúa
+        Connection held = admission.getConnection();
+        Connection other = admission.getConnection();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> validConnection(admission));
+        awaitUntil(() -> admission.getQueueLength() > 0);
+        Thread.sleep(100);
+        held.close();
+        assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        other.close();
+
+        assertEquals(3, governor.evaluate());
+        assertTrue(governor.getLastMeanWaitMs() > 10);
+    }
+
+    @Test
+    void growthIsCappedAtMaxSize() {
+        HikariPoolGovernor governor = new HikariPoolGovernor(pool, null, 2, 10, 10, 3);
+        assertEquals(10, governor.decide(50, 0, 9, 9));
+        assertEquals(10, governor.decide(50, 4, 10, 10));
+        assertEquals(5, governor.decide(0, 1, 4, 4));
+    }
+
+    @Test
+    void shrinksOnlyAfterConsecutiveCalmIntervalsAndNotBelowMinSize() {
+        HikariPoolGovernor governor = new HikariPoolGovernor(pool, null, 3, 10, 10, 3);
+        assertEquals(4, governor.decide(0, 0, 1, 4));
+        assertEquals(4, governor.decide(0, 0, 1, 4));
+        // Un intervalo con carga reinicia la cuenta
+        assertEquals(4, governor.decide(0, 0, 3, 4));
+        assertEquals(4, governor.decide(0, 0, 1, 4));
+        assertEquals(4, governor.decide(0, 0, 1, 4));
+        assertEquals(3, governor.decide(0, 0, 1, 4));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3, governor.decide(0, 0, 0, 3));
+        }
+    }
+
+    @Test
+    void fixedBoundsOnlyObserve() throws Exception {
+        HikariPoolGovernor governor = new HikariPoolGovernor(pool, null, 2, 2, 10, 1);
+        governor.bindTo(registry);
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        assertEquals(2, governor.evaluate());
+        assertEquals(2, governor.decide(100, 5, 2, 2));
+        assertEquals(0.0, registry.get("patient.db.pool.resizes").tag("direction", "up").functionCounter().count());
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new HikariPoolGovernor(pool, null, 5, 4, 10, 3));
+    }
+
+    private static boolean validConnection(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ms_cels.patient.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private final JdbcTemplate primaryDb = new JdbcTemplate(h2("routing_primary"));
+    private final JdbcTemplate replicaDb = new JdbcTemplate(h2("routing_replica"));
+    private final SwitchableDataSource replica = new SwitchableDataSource(replicaDb.getDataSource());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        // Cada base responde con su nombre; la réplica también expone un retraso configurable
+        for (JdbcTemplate db : List.of(primaryDb, replicaDb)) {
+            db.execute("CREATE TABLE node (name VARCHAR(20))");
+        }
+        primaryDb.update("INSERT INTO node VALUES ('primary')");
+        replicaDb.update("INSERT INTO node VALUES ('replica')");
+        replicaDb.execute("CREATE TABLE replication_lag (ms BIGINT)");
+        replicaDb.update("INSERT INTO replication_lag VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primaryDb.getDataSource(),
+                List.of(new ReplicaRoutingDataSource.Replica("replica-0", replica)),
+                1000, 1000, "SELECT ms FROM replication_lag");
+        routing.bindTo(registry);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+        primaryDb.execute("DROP ALL OBJECTS");
+        replicaDb.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaOnceItsLagIsKnown() {
+        // Sin medición todavía: no se confía en la réplica
+        assertEquals("primary", read(readOnly));
+
+        routing.refreshLag();
+        assertEquals("replica", read(readOnly));
+        assertEquals("primary", read(readWrite));
+        assertEquals(1.0, routeCount("replica", "healthy"));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicaDb.update("UPDATE replication_lag SET ms = 5000");
+        routing.refreshLag();
+
+        assertEquals(5000, routing.getReplicas().get(0).getLagMs());
+        assertEquals("primary", read(readOnly));
+        assertEquals(1.0, routeCount("primary", "lagging"));
+
+        replicaDb.update("UPDATE replication_lag SET ms = 200");
+        routing.refreshLag();
+        assertEquals("replica", read(readOnly));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimaryUntilItRecovers() {
+        routing.refreshLag();
+        replica.down = true;
+
+        assertEquals("primary", read(readOnly));
+        assertFalse(routing.getReplicas().get(0).isAvailable());
+
+        replica.down = false;
+        routing.refreshLag();
+        assertEquals("replica", read(readOnly));
+    }
+
+    @Test
+    void readYourWritesForcesPrimary() {
+        routing.refreshLag();
+
+        assertEquals("primary", ReplicaRoutingContext.onPrimary(() -> read(readOnly)));
+        assertEquals(1.0, routeCount("primary", "read_your_writes"));
+        assertEquals("replica", read(readOnly));
+    }
+
+    private String read(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private double routeCount(String target, String reason) {
+        return registry.get("patient.db.read.route").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("réplica caída");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.ms_cels.patient.datasource;
+
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import com.ms_cels.patient.util.PatientLoadKey;
+import com.ms_cels.patient.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing de extremo a extremo (JPA, caché y filtro). La "réplica" es la misma base H2 en memoria
+ * que el primario, así que ambas ven los mismos datos; el destino se comprueba por las métricas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "patient.replica.enabled=true",
+        "patient.replica.urls=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "patient.replica.username=sa",
+        "patient.replica.lag-query=SELECT 0",
+        "patient.replica.sticky-ms=60000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReplicaRoutingIntegrationTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SingleFlight<PatientLoadKey, Patient> patientLoads;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        assertInstanceOf(ReplicaRoutingDataSource.class, dataSource);
+        ((ReplicaRoutingDataSource) dataSource).refreshLag();
+    }
+
+    @Test
+    void readOnlyServiceCallsUseTheReplica() {
+        patientService.addPatient(samplePatient("5557001000", "replica1@example.com"));
+        double before = routes("replica", "healthy");
+
+        patientService.getAllPatients(null, 10);
+        patientService.getPatientsByBirthRange(null, null, 0, 200, null, null, 10);
+
+        assertTrue(routes("replica", "healthy") >= before + 2);
+    }
+
+    @Test
+    void changeFeedReadsFromPrimary() {
+        patientService.addPatient(samplePatient("5557001500", "replica15@example.com"));
+        double replicaBefore = routes("replica", "healthy");
+        double primaryBefore = routes("primary", "read_your_writes");
+
+        patientService.getChanges(null, 10);
+
+        assertEquals(replicaBefore, routes("replica", "healthy"));
+        assertEquals(primaryBefore + 1, routes("primary", "read_your_writes"));
+    }
+
+    @Test
+    void recentlyWrittenPatientIsReloadedFromPrimary() {
+        Patient created = patientService.addPatient(samplePatient("5557002000", "replica2@example.com"));
+        double before = routes("primary", "read_your_writes");
+
+        patientService.getPatient(created.getId());
+
+        assertEquals(before + 1, routes("primary", "read_your_writes"));
+    }
+
+    @Test
+    void mutationSetsStickyCookieThatKeepsReadsOnPrimary() throws Exception {
+        Cookie sticky = mockMvc.perform(post("/v1/patients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName":"Elena","lastName":"Vega","birthDate":"1992-02-02","gender":"F",
+                                 "phone":"5557003000","email":"replica3@example.com","address":"Calle 3",
+                                 "city":"Puebla","country":"México","postalCode":"72000"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists("patient_primary_until"))
+                .andReturn().getResponse().getCookie("patient_primary_until");
+
+        double before = routes("primary", "read_your_writes");
+        mockMvc.perform(get("/v1/patients").cookie(sticky)).andExpect(status().isOk());
+        assertEquals(before + 1, routes("primary", "read_your_writes"));
+    }
+
+    @Test
+    void lookupPostReadsFromReplicaWithoutStickyCookie() throws Exception {
+        double replicaBefore = routes("replica", "healthy");
+        double primaryBefore = routes("primary", "read_your_writes");
+
+        mockMvc.perform(post("/v1/patients/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + UUID.randomUUID() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist("patient_primary_until"));
+
+        assertTrue(routes("replica", "healthy") > replicaBefore);
+        assertEquals(primaryBefore, routes("primary", "read_your_writes"));
+    }
+
+    @Test
+    void primaryLoadDoesNotJoinReplicaLoadInFlight() throws Exception {
+        Patient created = patientService.addPatient(samplePatient("5557005000", "replica5@example.com"));
+        Patient stale = Patient.builder().id(created.getId()).firstName("Antigua").build();
+        CountDownLatch replicaStarted = new CountDownLatch(1);
+        CountDownLatch releaseReplica = new CountDownLatch(1);
+
+        // Carga desde réplica en curso para el mismo id, que devolvería la versión anterior
+        CompletableFuture<Patient> replicaLoad = CompletableFuture.supplyAsync(() ->
+                patientLoads.execute(new PatientLoadKey(created.getId(), false), () -> {
+                    replicaStarted.countDown();
+                    await(releaseReplica);
+                    return stale;
+                }));
+        assertTrue(replicaStarted.await(5, TimeUnit.SECONDS));
+        try {
+            Patient fromPrimary = patientService.getPatient(created.getId());
+            assertNotSame(stale, fromPrimary);
+            assertEquals("Elena", fromPrimary.getFirstName());
+        } finally {
+            releaseReplica.countDown();
+        }
+        assertSame(stale, replicaLoad.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double routes(String target, String reason) {
+        Counter counter = meterRegistry.find("patient.db.read.route").tag("target", target).tag("reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static PatientDto samplePatient(String phone, String email) {
+        return PatientDto.builder()
+                .firstName("Elena")
+                .lastName("Vega")
+                .birthDate(LocalDate.of(1992, 2, 2))
+                .gender("F")
+                .phone(phone)
+                .email(email)
+                .address("Calle 3")
+                .city("Puebla")
+                .country("México")
+                .postalCode("72000")
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ms_cels.patient.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorTests {
+
+    @Test
+    void generatesVersion7WithRfcVariant() {
+        UUID id = UuidV7Generator.next();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingAsUnsignedBytes() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            // Postgres compara uuid byte a byte (sin signo): basta con los 64 bits altos
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    void timestampPrefixTracksWallClock() {
+        long before = System.currentTimeMillis();
+        long timestamp = UuidV7Generator.next().getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before - 1);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1_000);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ms_cels.patient.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonLogEncoderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void masksPhiInLombokToStringAndFreeText() {
+        String masked = PhiMasker.mask("PatientDto(firstName=Ana, lastName=Pérez, email=ana@example.com, city=Monterrey)");
+        assertEquals("PatientDto(firstName=***, lastName=***, email=***, city=Monterrey)", masked);
+
+        assertEquals("contacto ***@*** tel ***", PhiMasker.mask("contacto ana@example.com tel +52 5551000123"));
+        assertEquals("{\"phone\":\"***\",\"city\":\"Monterrey\"}", PhiMasker.mask("{\"phone\":\"5551000123\",\"city\":\"Monterrey\"}"));
+    }
+
+    @Test
+    void leavesIdsAndPlainMessagesUntouched() {
+        String message = "Paciente registrado: 0190a1b2-c3d4-7e5f-8a9b-123456789012";
+        assertSame(message, PhiMasker.mask(message));
+        assertEquals("Bloque de 500 registros", PhiMasker.mask("Bloque de 500 registros"));
+    }
+
+    @Test
+    void writesOneJsonLineWithTraceId() throws Exception {
+        LoggerContext context = new LoggerContext();
+        LoggingEvent event = new LoggingEvent("test", context.getLogger("com.ms_cels.patient.Test"), Level.WARN,
+                "Error al guardar \"{}\"\nemail={}", null, new Object[]{"x", "ana@example.com"});
+        event.setMDCPropertyMap(Map.of("traceId", "abc-123"));
+
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertTrue(line.endsWith("\n"));
+        assertEquals(1, line.strip().lines().count());
+        JsonNode json = objectMapper.readTree(line);
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals("abc-123", json.get("traceId").asText());
+        assertEquals("Error al guardar \"x\"\nemail=***", json.get("message").asText());
+    }
+}
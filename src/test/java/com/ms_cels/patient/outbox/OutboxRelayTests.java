@@ -0,0 +1,114 @@
+package com.ms_cels.patient.outbox;
+
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.event.PatientChangeType;
+import com.ms_cels.patient.repository.OutboxEventRepository;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+public class OutboxRelayTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void mutationsAreRelayedInOrderAndMarkedPublished() {
+        PatientDto dto = samplePatient();
+        UUID id = patientService.addPatient(dto).getId();
+        dto.setCity("Saltillo");
+        patientService.updatePatient(id, dto, null);
+        patientService.deletePatient(id);
+        patientService.reactivatePatient(id);
+
+        assertEquals(4, outboxEventRepository.countByPublishedAtIsNull());
+        assertEquals(4, outboxRelay.drain());
+
+        List<OutboxMessage> delivered = events.stream(OutboxMessage.class)
+                .filter(message -> message.patientId().equals(id))
+                .toList();
+        assertEquals(List.of(PatientChangeType.CREATED, PatientChangeType.UPDATED,
+                        PatientChangeType.DEACTIVATED, PatientChangeType.REACTIVATED),
+                delivered.stream().map(OutboxMessage::type).toList());
+        for (int i = 1; i < delivered.size(); i++) {
+            assertTrue(delivered.get(i).eventId() > delivered.get(i - 1).eventId());
+        }
+
+        assertEquals(0, outboxEventRepository.countByPublishedAtIsNull());
+        assertEquals(0, outboxRelay.drain());
+    }
+
+    @Test
+    void identicalPutLeavesNoOutboxEvent() {
+        PatientDto dto = samplePatient();
+        UUID id = patientService.addPatient(dto).getId();
+        long before = outboxEventRepository.count();
+
+        patientService.updatePatient(id, dto, null);
+
+        assertEquals(before, outboxEventRepository.count());
+    }
+
+    @Test
+    void rolledBackMutationLeavesNoOutboxEvent() {
+        patientService.addPatient(samplePatient());
+        long before = outboxEventRepository.count();
+
+        // Mismo email: el INSERT falla al confirmar y la transacción se revierte con su evento
+        PatientDto duplicate = samplePatient();
+        duplicate.setPhone("5550009999");
+        assertThrows(DataIntegrityViolationException.class, () -> patientService.addPatient(duplicate));
+
+        assertEquals(before, outboxEventRepository.count());
+    }
+
+    private static PatientDto samplePatient() {
+        return PatientDto.builder()
+                .firstName("Rosa")
+                .lastName("Treviño")
+                .birthDate(LocalDate.of(1975, 8, 14))
+                .gender("F")
+                .bloodType("A+")
+                .phone("5550001111")
+                .email("rosa@example.com")
+                .address("Calle 8")
+                .city("Monterrey")
+                .country("México")
+                .postalCode("64000")
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ms_cels.patient.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ms_cels.patient.event.PatientChangeType;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxSinkTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final List<OutboxMessage> batch = List.of(
+            new OutboxMessage(1, PatientChangeType.CREATED, UUID.randomUUID(), LocalDateTime.now()),
+            new OutboxMessage(2, PatientChangeType.UPDATED, UUID.randomUUID(), LocalDateTime.now()));
+
+    @Test
+    void fileSinkAppendsOneJsonLinePerEvent(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("outbox/events.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+
+        sink.publish(batch);
+        sink.publish(batch.subList(0, 1));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(2, objectMapper.readTree(lines.get(1)).get("eventId").asLong());
+        assertEquals("CREATED", objectMapper.readTree(lines.get(2)).get("type").asText());
+    }
+
+    @Test
+    void webhookSinkPostsBatchAndFailsOnErrorStatus() throws Exception {
+        AtomicReference<JsonNode> received = new AtomicReference<>();
+        AtomicInteger status = new AtomicInteger(204);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            received.set(objectMapper.readTree(exchange.getRequestBody()));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events");
+            WebhookOutboxSink sink = new WebhookOutboxSink(url, 2000, objectMapper);
+
+            sink.publish(batch);
+            assertEquals(2, received.get().size());
+            assertEquals(batch.get(0).patientId().toString(), received.get().get(0).get("patientId").asText());
+
+            status.set(503);
+            assertThrows(IOException.class, () -> sink.publish(batch));
+        } finally {
+            server.stop(0);
+        }
+    }
+}
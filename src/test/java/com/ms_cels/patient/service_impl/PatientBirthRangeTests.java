@@ -0,0 +1,99 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PatientBirthRangeTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        // samplePatient(i): nacidos el 1990-01-01 + i días, en Monterrey
+        for (int i = 0; i < 7; i++) {
+            patientService.addPatient(PatientPaginationTests.samplePatient(i));
+        }
+        // Dos pacientes con la misma fecha en otra ciudad, para el desempate por id
+        for (int i = 7; i < 9; i++) {
+            PatientDto dto = PatientPaginationTests.samplePatient(i);
+            dto.setBirthDate(LocalDate.of(1990, 1, 3));
+            dto.setCity("Guadalajara");
+            patientService.addPatient(dto);
+        }
+    }
+
+    @Test
+    void walksDateRangeInBirthDateOrder() {
+        List<PatientSummary> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PatientSummary> page = patientService.getPatientsByBirthRange(
+                    LocalDate.of(1990, 1, 2), LocalDate.of(1990, 1, 5), null, null, null, cursor, 2);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // 1990-01-02..05 en Monterrey (4) más los dos de Guadalajara del 1990-01-03
+        assertEquals(6, seen.size());
+        assertEquals(6, seen.stream().map(PatientSummary::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getBirthDate().isBefore(seen.get(i - 1).getBirthDate()));
+        }
+    }
+
+    @Test
+    void filtersByCity() {
+        CursorPage<PatientSummary> page = patientService.getPatientsByBirthRange(
+                LocalDate.of(1990, 1, 1), LocalDate.of(1990, 12, 31), null, null, "Guadalajara", null, 10);
+
+        assertEquals(2, page.getSize());
+        assertTrue(page.getContent().stream().allMatch(p -> "Guadalajara".equals(p.getCity())));
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void translatesAgeRangeToBirthDates() {
+        PatientDto child = PatientPaginationTests.samplePatient(20);
+        child.setBirthDate(LocalDate.now().minusYears(8));
+        patientService.addPatient(child);
+
+        CursorPage<PatientSummary> page = patientService.getPatientsByBirthRange(
+                null, null, 5, 10, null, null, 10);
+
+        assertEquals(1, page.getSize());
+        assertEquals(child.getBirthDate(), page.getContent().get(0).getBirthDate());
+    }
+
+    @Test
+    void rejectsMissingOrEmptyRange() {
+        assertThrows(BadRequestException.class, () ->
+                patientService.getPatientsByBirthRange(null, null, null, null, null, null, 10));
+        assertThrows(BadRequestException.class, () ->
+                patientService.getPatientsByBirthRange(LocalDate.of(2000, 1, 1), LocalDate.of(1999, 1, 1),
+                        null, null, null, null, 10));
+        assertThrows(BadRequestException.class, () ->
+                patientService.getPatientsByBirthRange(null, null, -1, null, null, null, 10));
+    }
+}
@@ -0,0 +1,100 @@
+package com.ms_cels.patient.service_impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ms_cels.patient.config.CacheConfig;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class PatientCacheTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache<Object, Object> nativeCache;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.PATIENTS_CACHE);
+        assertNotNull(cache);
+        nativeCache = cache.getNativeCache();
+        nativeCache.invalidateAll();
+    }
+
+    @Test
+    void secondReadIsServedFromCache() {
+        UUID id = patientService.addPatient(PatientPaginationTests.samplePatient(1)).getId();
+        long hitsBefore = nativeCache.stats().hitCount();
+
+        Patient first = patientService.getPatient(id);
+        Patient second = patientService.getPatient(id);
+
+        assertSame(first, second);
+        assertEquals(hitsBefore + 1, nativeCache.stats().hitCount());
+    }
+
+    @Test
+    void cacheMissLoadsWholePatientInOneStatement() {
+        PatientDto dto = PatientPaginationTests.samplePatient(3);
+        dto.setMedicalHistory("Asma");
+        UUID id = patientService.addPatient(dto).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Patient patient = patientService.getPatient(id);
+
+        assertEquals(statementsBefore + 1, statistics.getPrepareStatementCount());
+        assertTrue(Hibernate.isPropertyInitialized(patient, "medicalHistory"));
+        assertEquals("Asma", patient.getMedicalHistory());
+    }
+
+    @Test
+    void updateAndDeleteInvalidateEntry() {
+        PatientDto dto = PatientPaginationTests.samplePatient(2);
+        UUID id = patientService.addPatient(dto).getId();
+
+        patientService.getPatient(id);
+        assertNotNull(nativeCache.getIfPresent(id));
+
+        dto.setCity("Saltillo");
+        patientService.updatePatient(id, dto, null);
+        assertNull(nativeCache.getIfPresent(id));
+        assertEquals("Saltillo", patientService.getPatient(id).getCity());
+
+        patientService.deletePatient(id);
+        assertNull(nativeCache.getIfPresent(id));
+        assertFalse(patientService.getPatient(id).isActive());
+
+        patientService.reactivatePatient(id);
+        assertNull(nativeCache.getIfPresent(id));
+        assertTrue(patientService.getPatient(id).isActive());
+    }
+}
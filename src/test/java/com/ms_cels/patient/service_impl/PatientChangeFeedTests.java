@@ -0,0 +1,104 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientChange;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PatientChangeFeedTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < 5; i++) {
+            ids.add(patientService.addPatient(PatientPaginationTests.samplePatient(i)).getId());
+        }
+    }
+
+    @Test
+    void pagesThroughEveryChangeOnceEvenWithTiedTimestamps() {
+        // Mismo updated_at para todas las filas: solo change_seq las ordena
+        jdbcTemplate.update("UPDATE patients SET updated_at = ?", LocalDateTime.of(2024, 5, 1, 12, 0));
+
+        List<PatientChange> seen = new ArrayList<>();
+        String since = null;
+        CursorPage<PatientChange> page;
+        do {
+            page = patientService.getChanges(since, 2);
+            seen.addAll(page.getContent());
+            since = page.getNextCursor();
+        } while (page.isHasNext());
+
+        assertEquals(ids, seen.stream().map(PatientChange::id).toList());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).changeSeq() > seen.get(i - 1).changeSeq());
+        }
+
+        // Sin cambios nuevos: página vacía y la misma marca de agua para el siguiente sondeo
+        CursorPage<PatientChange> empty = patientService.getChanges(since, 2);
+        assertTrue(empty.getContent().isEmpty());
+        assertEquals(since, empty.getNextCursor());
+    }
+
+    @Test
+    void returnsOnlyNewChangesWithDeletesAsTombstones() {
+        String since = patientService.getChanges(null, 100).getNextCursor();
+        long seqBefore = patientRepository.findById(ids.get(1)).map(Patient::getChangeSeq).orElseThrow();
+
+        PatientDto dto = PatientPaginationTests.samplePatient(1);
+        dto.setCity("Saltillo");
+        patientService.updatePatient(ids.get(1), dto, null);
+        patientService.deletePatient(ids.get(3));
+
+        List<PatientChange> changes = patientService.getChanges(since, 100).getContent();
+        assertEquals(List.of(ids.get(1), ids.get(3)), changes.stream().map(PatientChange::id).toList());
+
+        PatientChange updated = changes.get(0);
+        assertFalse(updated.deleted());
+        assertEquals("Saltillo", updated.patient().getCity());
+        assertTrue(updated.changeSeq() > seqBefore);
+
+        PatientChange tombstone = changes.get(1);
+        assertTrue(tombstone.deleted());
+        assertNull(tombstone.patient());
+    }
+
+    @Test
+    void acceptsIsoTimestampAndRejectsGarbage() {
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        assertTrue(patientService.getChanges(future.toString(), 10).getContent().isEmpty());
+        assertEquals(5, patientService.getChanges("2000-01-01", 10).getContent().size());
+
+        assertThrows(BadRequestException.class, () -> patientService.getChanges("not-a-watermark", 10));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ms_cels.patient.service_impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.dto.BulkImportResult;
+import com.ms_cels.patient.dto.BulkImportSummary;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "patient.bulk.chunk-size=2")
+@ActiveProfiles("test")
+public class PatientImportTests {
+
+    @Autowired
+    private PatientImportService patientImportService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void badRowsDoNotRollBackTheRestOfTheImport() throws Exception {
+        PatientDto duplicate = PatientPaginationTests.samplePatient(1);
+        duplicate.setPhone("5559999999");
+        PatientDto invalid = PatientPaginationTests.samplePatient(3);
+        invalid.setBloodType("Z+");
+
+        StringBuilder ndjson = new StringBuilder();
+        ndjson.append(objectMapper.writeValueAsString(PatientPaginationTests.samplePatient(0))).append('\n');
+        ndjson.append(objectMapper.writeValueAsString(PatientPaginationTests.samplePatient(1))).append('\n');
+        ndjson.append(objectMapper.writeValueAsString(duplicate)).append('\n'); // email repetido
+        ndjson.append("{ esto no es json\n");
+        ndjson.append(objectMapper.writeValueAsString(invalid)).append('\n');
+        ndjson.append(objectMapper.writeValueAsString(PatientPaginationTests.samplePatient(4))).append('\n');
+
+        List<BulkImportResult> results = new ArrayList<>();
+        BulkImportSummary summary = patientImportService.importPatients(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), true, results::add);
+
+        assertEquals(6, summary.getReceived());
+        assertEquals(3, summary.getCreated());
+        assertEquals(2, summary.getInvalid());
+        assertEquals(1, summary.getFailed());
+        assertEquals(6, results.size());
+        assertEquals(3, patientRepository.count());
+    }
+
+    @Test
+    void importsJsonArray() throws Exception {
+        String array = objectMapper.writeValueAsString(List.of(
+                PatientPaginationTests.samplePatient(5),
+                PatientPaginationTests.samplePatient(6),
+                PatientPaginationTests.samplePatient(7)));
+
+        BulkImportSummary summary = patientImportService.importPatients(
+                new ByteArrayInputStream(array.getBytes(StandardCharsets.UTF_8)), false, result -> { });
+
+        assertEquals(3, summary.getCreated());
+        assertEquals(3, patientRepository.count());
+    }
+}
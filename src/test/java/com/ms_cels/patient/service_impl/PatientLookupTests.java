@@ -0,0 +1,91 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.config.CacheConfig;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientLookupResult;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "patient.lookup.chunk-size=2")
+@ActiveProfiles("test")
+public class PatientLookupTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        cache = cacheManager.getCache(CacheConfig.PATIENTS_CACHE);
+        assertNotNull(cache);
+        cache.clear();
+    }
+
+    @Test
+    void returnsFoundInRequestOrderAndMissingIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PatientDto dto = PatientPaginationTests.samplePatient(i);
+            dto.setMedicalHistory("Historia " + i);
+            ids.add(patientService.addPatient(dto).getId());
+        }
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = List.of(ids.get(4), unknown, ids.get(0), ids.get(2), ids.get(4), ids.get(1), ids.get(3));
+
+        PatientLookupResult result = patientService.getPatients(requested);
+
+        assertEquals(List.of(ids.get(4), ids.get(0), ids.get(2), ids.get(1), ids.get(3)),
+                result.getFound().stream().map(PatientSummary::getId).toList());
+        assertEquals(List.of(unknown), result.getMissing());
+        // Solo el resumen: la historia clínica no viaja en la consulta por lotes
+        assertInstanceOf(PatientSummary.class, result.getFound().get(0));
+        assertFalse(result.getFound().get(0) instanceof Patient);
+    }
+
+    @Test
+    void cachedPatientsAreNotReloaded() {
+        UUID id = patientService.addPatient(PatientPaginationTests.samplePatient(1)).getId();
+        Patient cached = patientService.getPatient(id);
+
+        // Borrado directo en el repositorio (sin invalidar la caché): solo la caché puede servirlo
+        patientRepository.deleteById(id);
+
+        PatientLookupResult result = patientService.getPatients(List.of(id));
+        assertEquals(1, result.getFound().size());
+        assertEquals(cached.getId(), result.getFound().get(0).getId());
+        assertEquals(cached.getEmail(), result.getFound().get(0).getEmail());
+        assertTrue(result.getMissing().isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThrows(BadRequestException.class, () -> patientService.getPatients(List.of()));
+        List<UUID> tooMany = IntStream.range(0, 1001).mapToObj(i -> UUID.randomUUID()).toList();
+        assertThrows(BadRequestException.class, () -> patientService.getPatients(tooMany));
+    }
+}
@@ -0,0 +1,77 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PatientPaginationTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        for (int i = 0; i < 7; i++) {
+            patientService.addPatient(samplePatient(i));
+        }
+    }
+
+    @Test
+    void walksAllActivePatientsWithoutDuplicates() {
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<PatientSummary> page = patientService.getAllPatients(cursor, 3);
+            page.getContent().forEach(p -> assertTrue(seen.add(p.getId()), "Paciente repetido entre páginas"));
+            cursor = page.getNextCursor();
+            pages++;
+            assertEquals(page.isHasNext(), cursor != null);
+        } while (cursor != null);
+
+        assertEquals(7, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> patientService.getAllPatients("no-es-un-cursor", 3));
+    }
+
+    static PatientDto samplePatient(int i) {
+        return PatientDto.builder()
+                .firstName("Ana")
+                .lastName("Pérez")
+                .birthDate(LocalDate.of(1990, 1, 1).plusDays(i))
+                .gender("F")
+                .bloodType("O+")
+                .phone("5551000" + String.format("%03d", i))
+                .email("ana" + i + "@example.com")
+                .address("Calle " + i)
+                .city("Monterrey")
+                .country("México")
+                .postalCode("64000")
+                .build();
+    }
+}
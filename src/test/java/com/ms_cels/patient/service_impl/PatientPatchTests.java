@@ -0,0 +1,77 @@
+package com.ms_cels.patient.service_impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.entity.BloodType;
+import com.ms_cels.patient.entity.Gender;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.repository.PatientRepository;
+import com.ms_cels.patient.service.PatientService;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PatientPatchTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository.deleteAll();
+        id = patientService.addPatient(PatientPaginationTests.samplePatient(1)).getId();
+    }
+
+    @Test
+    void patchesOnlySuppliedFields() throws Exception {
+        Patient patched = patientService.patchPatient(id,
+                objectMapper.readTree("{\"phone\":\"5552223333\",\"allergies\":null}"), null);
+
+        assertEquals("5552223333", patched.getPhone());
+        Patient stored = patientRepository.findById(id).orElseThrow();
+        assertEquals("5552223333", stored.getPhone());
+        assertEquals("Monterrey", stored.getCity());
+        assertNull(patientService.getClinicalData(id).getAllergies());
+    }
+
+    @Test
+    void noOpPatchDoesNotWrite() throws Exception {
+        Patient before = patientRepository.findById(id).orElseThrow();
+
+        patientService.patchPatient(id, objectMapper.readTree("{\"city\":\"Monterrey\"}"), null);
+
+        assertEquals(before.getUpdatedAt(), patientRepository.findById(id).orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    void rejectsUnknownAndInvalidValues() throws Exception {
+        assertThrows(BadRequestException.class,
+                () -> patientService.patchPatient(id, objectMapper.readTree("{\"registrationDate\":\"2020-01-01\"}"), null));
+        assertThrows(BadRequestException.class,
+                () -> patientService.patchPatient(id, objectMapper.readTree("{\"bloodType\":\"Z+\"}"), null));
+        assertThrows(BadRequestException.class,
+                () -> patientService.patchPatient(id, objectMapper.readTree("{\"active\":null}"), null));
+        assertThrows(ConstraintViolationException.class,
+                () -> patientService.patchPatient(id, objectMapper.readTree("{\"phone\":\"12ab\"}"), null));
+        Patient stored = patientRepository.findById(id).orElseThrow();
+        assertEquals(BloodType.O_POSITIVE, stored.getBloodType());
+        assertEquals(Gender.FEMALE, stored.getGender());
+    }
+}
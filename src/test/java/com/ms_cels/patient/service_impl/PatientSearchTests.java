@@ -0,0 +1,87 @@
+package com.ms_cels.patient.service_impl;
+
+import com.ms_cels.patient.dto.CursorPage;
+import com.ms_cels.patient.dto.PatientDto;
+import com.ms_cels.patient.dto.PatientSummary;
+import com.ms_cels.patient.entity.Patient;
+import com.ms_cels.patient.exception.BadRequestException;
+import com.ms_cels.patient.service.PatientSearchService;
+import com.ms_cels.patient.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PatientSearchTests {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientSearchService patientSearchService;
+
+    @Test
+    void findsByAccentInsensitiveNamePrefix() {
+        PatientDto dto = PatientPaginationTests.samplePatient(900);
+        dto.setFirstName("Zoé");
+        dto.setLastName("Ñúñez-Olvídez");
+        UUID id = patientService.addPatient(dto).getId();
+
+        CursorPage<PatientSummary> page = patientSearchService.search("zoe NUNEZ", null, null, null, 10);
+        assertEquals(1, page.getSize());
+        assertEquals(id, page.getContent().get(0).getId());
+        assertEquals(1, patientSearchService.search("olvi", "monterrey", "mexico", null, 10).getSize());
+        assertEquals(0, patientSearchService.search("unez", null, null, null, 10).getSize());
+    }
+
+    @Test
+    void dropsDeactivatedPatientsFromResults() {
+        PatientDto dto = PatientPaginationTests.samplePatient(901);
+        dto.setFirstName("Xiomara");
+        dto.setLastName("Quiñones");
+        Patient saved = patientService.addPatient(dto);
+        assertEquals(1, patientSearchService.search("xiomara", null, null, null, 10).getSize());
+
+        patientService.deletePatient(saved.getId());
+        assertEquals(0, patientSearchService.search("xiomara", null, null, null, 10).getSize());
+    }
+
+    @Test
+    void pagesThroughResultsWithKeysetCursor() {
+        Set<UUID> created = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            PatientDto dto = PatientPaginationTests.samplePatient(910 + i);
+            dto.setFirstName(i % 2 == 0 ? "Wendolyn" : "Walda");
+            dto.setLastName("Yturbide");
+            created.add(patientService.addPatient(dto).getId());
+        }
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PatientSummary> page = patientSearchService.search("yturbide", null, null, cursor, 2);
+            page.getContent().forEach(summary -> seen.add(summary.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(created, new HashSet<>(seen));
+        assertThrows(BadRequestException.class,
+                () -> patientSearchService.search("yturbide", null, null, "no-es-un-cursor", 2));
+    }
+
+    @Test
+    void requiresAtLeastOneCriterion() {
+        assertThrows(BadRequestException.class, () -> patientSearchService.search(" ", null, null, null, 10));
+    }
+}
@@ -0,0 +1,131 @@
+package com.ms_cels.patient.util;
+
+import com.ms_cels.patient.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentCallsForSameKeyShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", 16);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(flight, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "paciente";
+        }, release);
+
+        for (Future<String> result : results) {
+            assertEquals("paciente", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.leaderCount());
+        assertEquals(CALLERS - 1, flight.coalescedCount());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void executedLoadsAreTimedByOutcome() {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        flight.bindTo(registry);
+
+        flight.execute("a", () -> "ok");
+        assertThrows(ResourceNotFoundException.class, () -> flight.execute("b", () -> {
+            throw new ResourceNotFoundException("Paciente no encontrado");
+        }));
+
+        assertEquals(1, registry.get("test.duration").tag("result", "success").timer().count());
+        assertEquals(1, registry.get("test.duration").tag("result", "failure").timer().count());
+    }
+
+    @Test
+    void failureIsPropagatedToEveryWaiter() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", 16);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(flight, () -> {
+            await(release);
+            throw new ResourceNotFoundException("Paciente no encontrado");
+        }, release);
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+        }
+        assertEquals(0, flight.inFlight());
+        // Terminada la carga, la siguiente petición vuelve a consultar
+        assertEquals("ok", flight.execute("id", () -> "ok"));
+    }
+
+    @Test
+    void bypassesWhenInFlightLimitIsReached() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> flight.execute("a", () -> {
+                started.countDown();
+                await(release);
+                return "a";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertEquals("b", flight.execute("b", () -> "b"));
+            assertEquals(1, flight.bypassedCount());
+
+            release.countDown();
+            assertEquals("a", slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Lanza CALLERS peticiones para la misma clave y libera la carga cuando todas están esperando
+    private static List<Future<String>> runConcurrently(SingleFlight<String, String> flight,
+                                                        Supplier<String> loader,
+                                                        CountDownLatch release) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("id", loader)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flight.leaderCount() + flight.coalescedCount() < CALLERS && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ms_cels.patient.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Los validadores a mano deben aceptar exactamente lo mismo que las expresiones regulares a las
+ * que sustituyen: se comparan sobre casos límite y miles de cadenas aleatorias.
+ */
+public class FieldRulesTests {
+
+    private static final String NAME_REGEX =
+            "^[a-zA-ZáéíóúÁÉÍÓÚñÑ][a-zA-ZáéíóúÁÉÍÓÚñÑ\\s\\.\\-']{0,48}[a-zA-ZáéíóúÁÉÍÓÚñÑ'\\.-]$";
+    private static final String ALPHABET = "aZñÁéü09+-.' \t\n_,@ABOMFNXbx1";
+    private static final int SAMPLES = 20_000;
+
+    @Test
+    void personNameMatchesRegex() {
+        assertEquivalent(NAME_REGEX, FieldRules::isPersonName, 55,
+                "Ana", "María José", "O'Neil", "Pérez-Núñez", "St.", "A", "Ab", " Ana", "Ana ", "José Luis ",
+                "Müller", "Ana1", "a".repeat(50), "a".repeat(51), "");
+    }
+
+    @Test
+    void genderMatchesRegex() {
+        assertEquivalent("^([MFONBXmfonbx]|[Nn][Bb])$", FieldRules::isGender, 3, "M", "f", "NB", "nb", "BN", "Z", "", "MM");
+    }
+
+    @Test
+    void bloodTypeMatchesRegex() {
+        assertEquivalent("^(A|B|AB|O)[+-]$", FieldRules::isBloodType, 4,
+                "A+", "AB-", "O+", "BA+", "AB", "C+", "a+", "AB+-", "");
+    }
+
+    @Test
+    void phoneMatchesRegex() {
+        assertEquivalent("^\\+?[1-9][0-9]{7,14}$", FieldRules::isPhone, 18,
+                "+528112345678", "5551000123", "0551000123", "+", "1234567", "12345678",
+                "123456789012345", "1234567890123456", "+1234567890123456", "555-1000", "");
+    }
+
+    @Test
+    void postalCodeMatchesRegex() {
+        assertEquivalent("^[A-Za-z0-9\\-\\s]{3,10}$", FieldRules::isPostalCode, 12,
+                "64000", "SW1A 1AA", "12", "12345678901", "64-000", "6400ñ", "");
+    }
+
+    @Test
+    void nullIsLeftToNotBlank() {
+        assertTrue(FieldRules.isPersonName(null));
+        assertTrue(FieldRules.isGender(null));
+        assertTrue(FieldRules.isBloodType(null));
+        assertTrue(FieldRules.isPhone(null));
+        assertTrue(FieldRules.isPostalCode(null));
+    }
+
+    private static void assertEquivalent(String regex, Predicate<String> rule, int maxLength, String... edgeCases) {
+        Pattern pattern = Pattern.compile(regex);
+        for (String value : edgeCases) {
+            assertEquals(pattern.matcher(value).matches(), rule.test(value), () -> "Difiere para '" + value + "'");
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            String value = randomString(random, maxLength);
+            assertEquals(pattern.matcher(value).matches(), rule.test(value), () -> "Difiere para '" + value + "'");
+        }
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+}